@@ -0,0 +1,41 @@
+package br.com.course.auth.endpoint.controller;
+
+import br.com.course.core.property.JWTConfiguration;
+import br.com.course.token.key.SigningKey;
+import br.com.course.token.key.SigningKeyRing;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+@RestController
+@Slf4j
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class JwkSetController {
+    private final JWTConfiguration jwtConfiguration;
+    private final SigningKeyRing signingKeyRing;
+
+    @GetMapping(path = "${jwt.config.jwk-set.path:/.well-known/jwks.json}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> jwkSet() {
+        List<JWK> publicKeys = signingKeyRing.getKeys()
+                .stream()
+                .map(SigningKey::getPublicJwk)
+                .collect(toList());
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwtConfiguration.getJwkSet().getCacheTtl(), TimeUnit.SECONDS).cachePublic())
+                .body(new JWKSet(publicKeys).toJSONObject());
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.course.auth.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "auth.config")
+@Getter
+@Setter
+@ToString
+public class AuthConfiguration {
+    @NestedConfigurationProperty
+    private Password password = new Password();
+    @NestedConfigurationProperty
+    private Login login = new Login();
+    @NestedConfigurationProperty
+    private Throttle throttle = new Throttle();
+
+    /**
+     * BCrypt work factor and the pool the hashes are computed on. At most {@code poolSize} hashes run at once,
+     * {@code queueCapacity} more may wait, beyond that logins are rejected right away. A queued hash not done
+     * within {@code timeout} milliseconds is abandoned.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class Password {
+        private int strength = 10;
+        private int poolSize = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 64;
+        private long timeout = 5000;
+    }
+
+    /**
+     * Limits of the login request, bodies larger than {@code maxBodySize} bytes are answered with 413 before any
+     * credential is checked.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class Login {
+        private int maxBodySize = 4096;
+    }
+
+    /**
+     * Failed login limits. A username failing {@code maxUserFailures} times from the same address, or an address
+     * failing {@code maxAddressFailures} times, within {@code window} seconds is locked for {@code lockout}
+     * seconds. Requests from one of {@code trustedProxies}, addresses or CIDR ranges of the gateway instances,
+     * are attributed to the address they appended to X-Forwarded-For; when they appended none the address limit
+     * is skipped and the username is limited on its own.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class Throttle {
+        private boolean enabled = true;
+        private int maxUserFailures = 5;
+        private int maxAddressFailures = 50;
+        private long window = 300;
+        private long lockout = 300;
+        private int stripes = 64;
+        private int maxEntries = 100_000;
+        private List<String> trustedProxies = new ArrayList<>();
+    }
+}
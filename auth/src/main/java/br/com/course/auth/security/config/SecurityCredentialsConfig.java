@@ -1,45 +1,74 @@
 package br.com.course.auth.security.config;
 
+import br.com.course.auth.property.AuthConfiguration;
 import br.com.course.auth.security.filter.JWTUserAndPasswordAuthFilter;
+import br.com.course.auth.security.login.ClientAddressResolver;
+import br.com.course.auth.security.login.LoginCredentialsReader;
+import br.com.course.auth.security.login.LoginThrottle;
+import br.com.course.auth.security.password.BoundedPasswordEncoder;
 import br.com.course.config.SecurityTokenConfig;
 import br.com.course.core.property.JWTConfiguration;
 import br.com.course.token.creator.TokenCreator;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Primary;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 @EnableWebSecurity
 public class SecurityCredentialsConfig extends SecurityTokenConfig {
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
     private final TokenCreator tokenCreator;
+    private final AuthConfiguration authConfiguration;
+    private final MeterRegistry meterRegistry;
+    private final LoginCredentialsReader loginCredentialsReader;
+    private final LoginThrottle loginThrottle;
+    private final ClientAddressResolver clientAddressResolver;
 
     public SecurityCredentialsConfig(
                                      JWTConfiguration jwtConfiguration,
                                      @Qualifier("userDetailServiceImpl") UserDetailsService userDetailsService,
-                                     TokenCreator tokenCreator) {
+                                     @Qualifier("userDetailServiceImpl") UserDetailsPasswordService userDetailsPasswordService,
+                                     TokenCreator tokenCreator,
+                                     AuthConfiguration authConfiguration,
+                                     MeterRegistry meterRegistry,
+                                     LoginCredentialsReader loginCredentialsReader,
+                                     LoginThrottle loginThrottle,
+                                     ClientAddressResolver clientAddressResolver) {
         super(jwtConfiguration);
         this.userDetailsService = userDetailsService;
+        this.userDetailsPasswordService = userDetailsPasswordService;
         this.tokenCreator = tokenCreator;
+        this.authConfiguration = authConfiguration;
+        this.meterRegistry = meterRegistry;
+        this.loginCredentialsReader = loginCredentialsReader;
+        this.loginThrottle = loginThrottle;
+        this.clientAddressResolver = clientAddressResolver;
     }
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         http
-                .addFilter(new JWTUserAndPasswordAuthFilter(authenticationManager(), jwtConfiguration, tokenCreator));
+                .addFilter(new JWTUserAndPasswordAuthFilter(authenticationManager(), jwtConfiguration, tokenCreator,
+                        loginCredentialsReader, loginThrottle, clientAddressResolver));
         super.configure(http);
     }
 
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
-        auth.userDetailsService(userDetailsService).passwordEncoder(passwordEncoder());
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setUserDetailsService(userDetailsService);
+        authenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder());
+        auth.authenticationProvider(authenticationProvider);
     }
 
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        return new BoundedPasswordEncoder(authConfiguration.getPassword(), meterRegistry);
     }
 }
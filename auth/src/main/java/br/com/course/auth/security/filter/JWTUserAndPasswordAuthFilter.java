@@ -1,25 +1,33 @@
 package br.com.course.auth.security.filter;
 
-import br.com.course.core.model.ApplicationUser;
+import br.com.course.auth.security.login.ClientAddressResolver;
+import br.com.course.auth.security.login.LoginCredentials;
+import br.com.course.auth.security.login.LoginCredentialsReader;
+import br.com.course.auth.security.login.LoginRequestRejectedException;
+import br.com.course.auth.security.login.LoginThrottle;
+import br.com.course.auth.security.login.LoginThrottledException;
+import br.com.course.auth.security.password.PasswordVerificationRejectedException;
 import br.com.course.core.property.JWTConfiguration;
 import br.com.course.token.creator.TokenCreator;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jwt.SignedJWT;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-
-import static java.util.Collections.emptyList;
+import java.io.IOException;
 
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 @Slf4j
@@ -27,23 +35,36 @@ public class JWTUserAndPasswordAuthFilter extends UsernamePasswordAuthentication
     private final AuthenticationManager authenticationManager;
     private final JWTConfiguration jwtConfiguration;
     private final TokenCreator tokenCreator;
+    private final LoginCredentialsReader loginCredentialsReader;
+    private final LoginThrottle loginThrottle;
+    private final ClientAddressResolver clientAddressResolver;
 
     @Override
     @SneakyThrows
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response) {
         log.info("Attempting authentication. . .");
-        ApplicationUser applicationUser = new ObjectMapper().readValue(request.getInputStream(), ApplicationUser.class);
+        LoginCredentials credentials = loginCredentialsReader.read(request);
+        String address = clientAddressResolver.resolve(request.getRemoteAddr(), request.getHeader("X-Forwarded-For"));
+
+        long retryAfter = loginThrottle.retryAfter(credentials.getUsername(), address);
 
-        if (applicationUser == null)
-            throw new UsernameNotFoundException("Unable to retrieve the username or password");
+        if (retryAfter > 0)
+            throw new LoginThrottledException(retryAfter);
 
-        log.info("Creating the authentication object for the user '{}' and calling UserDetailServiceImpl loadUserByUsername", applicationUser.getUsername());
+        log.info("Creating the authentication object for the user '{}' and calling UserDetailServiceImpl loadUserByUsername", credentials.getUsername());
 
-        UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(applicationUser.getUsername(), applicationUser.getPassword(), emptyList());
+        UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(credentials.getUsername(), credentials.getPassword());
 
-        usernamePasswordAuthenticationToken.setDetails(applicationUser);
+        setDetails(request, usernamePasswordAuthenticationToken);
 
-        return authenticationManager.authenticate(usernamePasswordAuthenticationToken);
+        try {
+            Authentication authentication = authenticationManager.authenticate(usernamePasswordAuthenticationToken);
+            loginThrottle.recordSuccess(credentials.getUsername(), address);
+            return authentication;
+        } catch (BadCredentialsException e) {
+            loginThrottle.recordFailure(credentials.getUsername(), address);
+            throw e;
+        }
     }
 
     @Override
@@ -62,4 +83,24 @@ public class JWTUserAndPasswordAuthFilter extends UsernamePasswordAuthentication
         response.addHeader(jwtConfiguration.getHeader().getName(), jwtConfiguration.getHeader().getPrefix() + encryptedToken);
     }
 
+    @Override
+    protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response, AuthenticationException failed) throws IOException, ServletException {
+        if (failed instanceof PasswordVerificationRejectedException) {
+            log.warn("Login rejected before checking the credentials: {}", failed.getMessage());
+            SecurityContextHolder.clearContext();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, failed.getMessage());
+            return;
+        }
+        if (failed instanceof LoginRequestRejectedException) {
+            log.warn("Login request rejected: {}", failed.getMessage());
+            SecurityContextHolder.clearContext();
+            if (failed instanceof LoginThrottledException)
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(((LoginThrottledException) failed).getRetryAfter()));
+            response.sendError(((LoginRequestRejectedException) failed).getStatus(), failed.getMessage());
+            return;
+        }
+        super.unsuccessfulAuthentication(request, response, failed);
+    }
+
 }
@@ -0,0 +1,69 @@
+package br.com.course.auth.security.login;
+
+import br.com.course.auth.property.AuthConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Finds the address of the client behind a login request. A request coming straight from an address outside of
+ * {@code auth.config.throttle.trusted-proxies} is its own client, a request relayed by one of them is from the
+ * last X-Forwarded-For entry that is not a trusted proxy either, proxies appending the address they received the
+ * request from.
+ * <p>
+ * A relayed request without such an entry has no known client, it is returned as null rather than as the address
+ * of the proxy so the logins relayed by the gateway are not all counted as one client. Entries that are not IP
+ * literals count as unknown as well, the matcher would resolve host names.
+ */
+@Component
+@Slf4j
+public class ClientAddressResolver {
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9A-Fa-f:.]+");
+    private final List<IpAddressMatcher> trustedProxies;
+
+    @Autowired
+    public ClientAddressResolver(AuthConfiguration authConfiguration) {
+        this.trustedProxies = authConfiguration.getThrottle().getTrustedProxies().stream()
+                .map(IpAddressMatcher::new)
+                .collect(toList());
+        log.info("Login client addresses taken from X-Forwarded-For behind {}", authConfiguration.getThrottle().getTrustedProxies());
+    }
+
+    /**
+     * @return the client address, null when the request was relayed without telling where it came from
+     */
+    public String resolve(String remoteAddress, String forwardedFor) {
+        if (!isTrustedProxy(remoteAddress))
+            return remoteAddress;
+
+        if (forwardedFor == null)
+            return null;
+
+        String[] entries = forwardedFor.split(",");
+        for (int i = entries.length - 1; i >= 0; i--) {
+            String entry = entries[i].trim();
+            if (!IP_LITERAL.matcher(entry).matches())
+                return null;
+            if (!isTrustedProxy(entry))
+                return entry;
+        }
+        return null;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        if (address == null || !IP_LITERAL.matcher(address).matches())
+            return false;
+
+        for (IpAddressMatcher trustedProxy : trustedProxies) {
+            if (trustedProxy.matches(address))
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.course.auth.security.login;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class LoginCredentials {
+    private final String username;
+    @ToString.Exclude
+    private final String password;
+}
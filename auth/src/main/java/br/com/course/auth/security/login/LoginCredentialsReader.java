@@ -0,0 +1,113 @@
+package br.com.course.auth.security.login;
+
+import br.com.course.auth.property.AuthConfiguration;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the username and password of the login body with a streaming parser shared by all requests. Parsing stops
+ * as soon as both fields are read, and bodies larger than {@code auth.config.login.max-body-size} are rejected
+ * whether they announce a content length or not.
+ */
+@Component
+public class LoginCredentialsReader {
+    private final JsonFactory jsonFactory;
+    private final AuthConfiguration authConfiguration;
+
+    @Autowired
+    public LoginCredentialsReader(ObjectMapper objectMapper, AuthConfiguration authConfiguration) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.authConfiguration = authConfiguration;
+    }
+
+    public LoginCredentials read(HttpServletRequest request) throws IOException {
+        int maxBodySize = authConfiguration.getLogin().getMaxBodySize();
+
+        if (request.getContentLengthLong() > maxBodySize)
+            throw tooLarge(maxBodySize);
+
+        try (JsonParser parser = jsonFactory.createParser(new LimitedInputStream(request.getInputStream(), maxBodySize))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+                throw malformed();
+
+            String username = null;
+            String password = null;
+
+            while ((username == null || password == null) && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+
+                if ("username".equals(field) && value == JsonToken.VALUE_STRING)
+                    username = parser.getText();
+                else if ("password".equals(field) && value == JsonToken.VALUE_STRING)
+                    password = parser.getText();
+                else
+                    parser.skipChildren();
+            }
+
+            if (username == null || password == null)
+                throw malformed();
+
+            return new LoginCredentials(username, password);
+        } catch (BodyLimitExceededException e) {
+            throw tooLarge(maxBodySize);
+        } catch (JsonProcessingException e) {
+            throw malformed();
+        }
+    }
+
+    private static LoginRequestRejectedException tooLarge(int maxBodySize) {
+        return new LoginRequestRejectedException(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                String.format("The login body exceeds %d bytes", maxBodySize));
+    }
+
+    private static LoginRequestRejectedException malformed() {
+        return new LoginRequestRejectedException(HttpServletResponse.SC_BAD_REQUEST,
+                "The login body must be a JSON object with the username and the password");
+    }
+
+    private static final class BodyLimitExceededException extends IOException {
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0)
+                consume(1);
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0)
+                consume(read);
+            return read;
+        }
+
+        private void consume(int count) throws BodyLimitExceededException {
+            remaining -= count;
+            if (remaining < 0)
+                throw new BodyLimitExceededException();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.course.auth.security.login;
+
+import lombok.Getter;
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when the login request body cannot be read, the credentials were not checked and the request is answered
+ * with {@link #getStatus()}.
+ */
+@Getter
+public class LoginRequestRejectedException extends AuthenticationServiceException {
+    private final int status;
+
+    public LoginRequestRejectedException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.course.auth.security.login;
+
+import br.com.course.auth.property.AuthConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In memory limiter of failed logins, checked before the credentials so locked out attempts never reach BCrypt.
+ * Failures are counted per username and client address pair and per client address over a sliding window;
+ * reaching the limit of either key locks it for {@code auth.config.throttle.lockout} seconds. A login whose client
+ * address is unknown (null, see ClientAddressResolver) is only counted under its username, alone.
+ * <p>
+ * The username is only locked for the address it failed from, so nobody can lock the owner of an account out by
+ * failing its password on purpose. The price is that an attacker spread over many addresses gets
+ * {@code maxUserFailures} guesses per address and account, bounded by the address limit and the BCrypt cost.
+ * <p>
+ * Keys are spread over lock stripes, each one a bounded LRU map, so contention stays low and a flood of distinct
+ * usernames cannot grow the memory past {@code maxEntries}.
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+    private final AuthConfiguration.Throttle throttle;
+    private final Stripe[] stripes;
+    private final Counter userThrottled;
+    private final Counter addressThrottled;
+
+    @Autowired
+    public LoginThrottle(AuthConfiguration authConfiguration, MeterRegistry meterRegistry) {
+        this.throttle = authConfiguration.getThrottle();
+        this.stripes = new Stripe[throttle.getStripes()];
+        int entriesPerStripe = Math.max(1, throttle.getMaxEntries() / throttle.getStripes());
+        for (int i = 0; i < stripes.length; i++)
+            stripes[i] = new Stripe(entriesPerStripe);
+        this.userThrottled = meterRegistry.counter("auth.login.throttled", "key", "username");
+        this.addressThrottled = meterRegistry.counter("auth.login.throttled", "key", "address");
+    }
+
+    /**
+     * @return the seconds the caller must wait before trying again, zero when the login may proceed
+     */
+    public long retryAfter(String username, String address) {
+        return retryAfter(username, address, System.nanoTime());
+    }
+
+    long retryAfter(String username, String address, long now) {
+        if (!throttle.isEnabled())
+            return 0;
+
+        long userRetryAfter = retryAfter(userKey(username, address), now);
+        long addressRetryAfter = address == null ? 0 : retryAfter(addressKey(address), now);
+
+        if (userRetryAfter > 0)
+            userThrottled.increment();
+        if (addressRetryAfter > 0)
+            addressThrottled.increment();
+
+        return Math.max(userRetryAfter, addressRetryAfter);
+    }
+
+    public void recordFailure(String username, String address) {
+        recordFailure(username, address, System.nanoTime());
+    }
+
+    void recordFailure(String username, String address, long now) {
+        if (!throttle.isEnabled())
+            return;
+
+        recordFailure(userKey(username, address), throttle.getMaxUserFailures(), now);
+        if (address != null)
+            recordFailure(addressKey(address), throttle.getMaxAddressFailures(), now);
+    }
+
+    /**
+     * A successful login clears the failures of the username from the address, the address keeps its own since
+     * it may be shared by an attacker trying many accounts.
+     */
+    public void recordSuccess(String username, String address) {
+        if (!throttle.isEnabled())
+            return;
+
+        String key = userKey(username, address);
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.windows.remove(key);
+        }
+    }
+
+    private long retryAfter(String key, long now) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Window window = stripe.windows.get(key);
+            if (window == null || window.lockedUntil - now <= 0)
+                return 0;
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(window.lockedUntil - now));
+        }
+    }
+
+    private void recordFailure(String key, int maxFailures, long now) {
+        long windowNanos = TimeUnit.SECONDS.toNanos(throttle.getWindow());
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Window window = stripe.windows.computeIfAbsent(key, k -> new Window(maxFailures));
+            if (window.add(now, windowNanos)) {
+                window.lockedUntil = now + TimeUnit.SECONDS.toNanos(throttle.getLockout());
+                window.clear();
+                log.warn("Too many failed logins for '{}', locked for {} seconds", key, throttle.getLockout());
+            }
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[((hash ^ (hash >>> 16)) & 0x7fffffff) % stripes.length];
+    }
+
+    private static String userKey(String username, String address) {
+        String user = "user:" + username.toLowerCase(Locale.ROOT);
+        return address == null ? user : user + '|' + address;
+    }
+
+    private static String addressKey(String address) {
+        return "address:" + address;
+    }
+
+    private static final class Stripe {
+        private final Map<String, Window> windows;
+
+        private Stripe(int maxEntries) {
+            this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+    }
+
+    /**
+     * Ring of the timestamps of the last failures, the window is full when the oldest of {@code capacity}
+     * failures is still inside the sliding window.
+     */
+    private static final class Window {
+        private final long[] failures;
+        private int next;
+        private int size;
+        private long lockedUntil;
+
+        private Window(int capacity) {
+            this.failures = new long[capacity];
+        }
+
+        private boolean add(long now, long windowNanos) {
+            failures[next] = now;
+            next = (next + 1) % failures.length;
+            size = Math.min(size + 1, failures.length);
+            return size == failures.length && now - failures[next] <= windowNanos;
+        }
+
+        private void clear() {
+            next = 0;
+            size = 0;
+        }
+    }
+}
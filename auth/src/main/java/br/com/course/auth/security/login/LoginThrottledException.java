@@ -0,0 +1,18 @@
+package br.com.course.auth.security.login;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when the username or the client address is locked out, the login is answered with 429 and the client
+ * may retry after {@link #getRetryAfter()} seconds.
+ */
+@Getter
+public class LoginThrottledException extends LoginRequestRejectedException {
+    private final long retryAfter;
+
+    public LoginThrottledException(long retryAfter) {
+        super(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many failed login attempts");
+        this.retryAfter = retryAfter;
+    }
+}
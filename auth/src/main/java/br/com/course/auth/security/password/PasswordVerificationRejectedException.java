@@ -0,0 +1,14 @@
+package br.com.course.auth.security.password;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when the password could not be verified because the BCrypt pool is saturated, the credentials were not
+ * checked so the client should retry later.
+ */
+public class PasswordVerificationRejectedException extends AuthenticationServiceException {
+
+    public PasswordVerificationRejectedException(String message) {
+        super(message);
+    }
+}
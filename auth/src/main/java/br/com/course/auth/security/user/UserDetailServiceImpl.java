@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -19,7 +20,7 @@ import static org.springframework.security.core.authority.AuthorityUtils.*;
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 @Service
 @Slf4j
-public class UserDetailServiceImpl implements UserDetailsService {
+public class UserDetailServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final ApplicationUserRepository applicationUserRepository;
 
@@ -35,6 +36,16 @@ public class UserDetailServiceImpl implements UserDetailsService {
         return new CustomUserDetails(applicationUser);
     }
 
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        log.info("Re-encoding the password of the user '{}' with the configured BCrypt strength", user.getUsername());
+
+        ApplicationUser applicationUser = new ApplicationUser((ApplicationUser) user);
+        applicationUser.setPassword(newPassword);
+
+        return new CustomUserDetails(applicationUserRepository.save(applicationUser));
+    }
+
     private static final class CustomUserDetails extends ApplicationUser implements UserDetails {
 
         CustomUserDetails(@NotNull ApplicationUser user) {
@@ -0,0 +1,60 @@
+package br.com.course.auth.security.login;
+
+import br.com.course.auth.property.AuthConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientAddressResolverTest {
+    private static final String GATEWAY = "10.0.0.5";
+
+    @Test
+    void takesTheRemoteAddressOfADirectClient() {
+        ClientAddressResolver resolver = resolver(GATEWAY);
+
+        assertThat(resolver.resolve("203.0.113.7", "198.51.100.1")).isEqualTo("203.0.113.7");
+        assertThat(resolver.resolve("203.0.113.7", null)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void takesTheAddressTheGatewayAppended() {
+        ClientAddressResolver resolver = resolver(GATEWAY);
+
+        assertThat(resolver.resolve(GATEWAY, "203.0.113.7")).isEqualTo("203.0.113.7");
+        // the client may send any header, only the entry appended by the gateway counts
+        assertThat(resolver.resolve(GATEWAY, "198.51.100.1, 203.0.113.7")).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void skipsTheProxiesInFrontOfTheGateway() {
+        ClientAddressResolver resolver = resolver("10.0.0.0/8");
+
+        assertThat(resolver.resolve("10.0.0.5", "203.0.113.7, 10.1.2.3")).isEqualTo("203.0.113.7");
+        assertThat(resolver.resolve("10.0.0.5", "0:0:0:0:0:0:0:1, 10.1.2.3")).isEqualTo("0:0:0:0:0:0:0:1");
+    }
+
+    @Test
+    void leavesTheClientUnknownWhenTheGatewayDoesNotTell() {
+        ClientAddressResolver resolver = resolver(GATEWAY);
+
+        assertThat(resolver.resolve(GATEWAY, null)).isNull();
+        assertThat(resolver.resolve(GATEWAY, "")).isNull();
+        assertThat(resolver.resolve(GATEWAY, GATEWAY)).isNull();
+        assertThat(resolver.resolve(GATEWAY, "203.0.113.7, attacker.example")).isNull();
+    }
+
+    @Test
+    void trustsNothingByDefault() {
+        ClientAddressResolver resolver = new ClientAddressResolver(new AuthConfiguration());
+
+        assertThat(resolver.resolve(GATEWAY, "203.0.113.7")).isEqualTo(GATEWAY);
+    }
+
+    private static ClientAddressResolver resolver(String... trustedProxies) {
+        AuthConfiguration authConfiguration = new AuthConfiguration();
+        authConfiguration.getThrottle().setTrustedProxies(List.of(trustedProxies));
+        return new ClientAddressResolver(authConfiguration);
+    }
+}
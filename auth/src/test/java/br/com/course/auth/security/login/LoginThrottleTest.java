@@ -0,0 +1,163 @@
+package br.com.course.auth.security.login;
+
+import br.com.course.auth.property.AuthConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginThrottleTest {
+    private static final long START = 1_000_000_000L;
+    private AuthConfiguration authConfiguration;
+
+    @BeforeEach
+    void setUp() {
+        authConfiguration = new AuthConfiguration();
+        AuthConfiguration.Throttle throttle = authConfiguration.getThrottle();
+        throttle.setMaxUserFailures(3);
+        throttle.setMaxAddressFailures(5);
+        throttle.setWindow(300);
+        throttle.setLockout(60);
+    }
+
+    @Test
+    void locksAUsernameOnceItReachesTheLimit() {
+        LoginThrottle loginThrottle = loginThrottle();
+
+        loginThrottle.recordFailure("alice", "10.0.0.1", START);
+        loginThrottle.recordFailure("alice", "10.0.0.1", START + seconds(1));
+
+        assertThat(loginThrottle.retryAfter("alice", "10.0.0.1", START + seconds(2))).isZero();
+
+        loginThrottle.recordFailure("Alice", "10.0.0.1", START + seconds(2));
+
+        assertThat(loginThrottle.retryAfter("ALICE", "10.0.0.1", START + seconds(2))).isEqualTo(60);
+    }
+
+    @Test
+    void lockoutExpires() {
+        LoginThrottle loginThrottle = loginThrottle();
+        for (int i = 0; i < 3; i++)
+            loginThrottle.recordFailure("alice", "10.0.0.1", START);
+
+        assertThat(loginThrottle.retryAfter("alice", "10.0.0.1", START + seconds(30))).isEqualTo(30);
+        assertThat(loginThrottle.retryAfter("alice", "10.0.0.1", START + seconds(60) - 1)).isEqualTo(1);
+        assertThat(loginThrottle.retryAfter("alice", "10.0.0.1", START + seconds(60))).isZero();
+    }
+
+    @Test
+    void onlyCountsFailuresInsideTheSlidingWindow() {
+        LoginThrottle loginThrottle = loginThrottle();
+
+        loginThrottle.recordFailure("alice", "10.0.0.1", START);
+        loginThrottle.recordFailure("alice", "10.0.0.1", START + seconds(200));
+        loginThrottle.recordFailure("alice", "10.0.0.1", START + seconds(400));
+
+        assertThat(loginThrottle.retryAfter("alice", "10.0.0.1", START + seconds(400))).isZero();
+
+        loginThrottle.recordFailure("alice", "10.0.0.1", START + seconds(450));
+
+        assertThat(loginThrottle.retryAfter("alice", "10.0.0.1", START + seconds(450))).isEqualTo(60);
+    }
+
+    @Test
+    void failuresFromOneAddressDoNotLockTheAccountOut() {
+        LoginThrottle loginThrottle = loginThrottle();
+        for (int i = 0; i < 3; i++)
+            loginThrottle.recordFailure("alice", "10.0.0.66", START);
+
+        assertThat(loginThrottle.retryAfter("alice", "10.0.0.66", START)).isPositive();
+        assertThat(loginThrottle.retryAfter("alice", "10.0.0.1", START)).isZero();
+    }
+
+    @Test
+    void locksAnAddressTryingManyUsernames() {
+        LoginThrottle loginThrottle = loginThrottle();
+        for (int i = 0; i < 5; i++)
+            loginThrottle.recordFailure("user" + i, "10.0.0.66", START);
+
+        assertThat(loginThrottle.retryAfter("bob", "10.0.0.66", START)).isEqualTo(60);
+        assertThat(loginThrottle.retryAfter("bob", "10.0.0.1", START)).isZero();
+    }
+
+    @Test
+    void throttlesTheClientsBehindTheGatewaySeparately() {
+        authConfiguration.getThrottle().setTrustedProxies(List.of("10.0.0.5"));
+        ClientAddressResolver resolver = new ClientAddressResolver(authConfiguration);
+        LoginThrottle loginThrottle = loginThrottle();
+        String attacker = resolver.resolve("10.0.0.5", "203.0.113.66");
+        String client = resolver.resolve("10.0.0.5", "198.51.100.1");
+
+        for (int i = 0; i < 5; i++)
+            loginThrottle.recordFailure("user" + i, attacker, START);
+
+        assertThat(loginThrottle.retryAfter("alice", attacker, START)).isEqualTo(60);
+        assertThat(loginThrottle.retryAfter("alice", client, START)).isZero();
+    }
+
+    @Test
+    void limitsOnlyTheUsernameWhenTheClientIsUnknown() {
+        LoginThrottle loginThrottle = loginThrottle();
+        for (int i = 0; i < 10; i++)
+            loginThrottle.recordFailure("user" + i, null, START);
+
+        assertThat(loginThrottle.retryAfter("alice", null, START)).isZero();
+
+        for (int i = 0; i < 3; i++)
+            loginThrottle.recordFailure("alice", null, START);
+
+        assertThat(loginThrottle.retryAfter("alice", null, START)).isEqualTo(60);
+        assertThat(loginThrottle.retryAfter("alice", "10.0.0.1", START)).isZero();
+    }
+
+    @Test
+    void successClearsTheFailuresOfTheUsername() {
+        LoginThrottle loginThrottle = loginThrottle();
+        loginThrottle.recordFailure("alice", "10.0.0.1", START);
+        loginThrottle.recordFailure("alice", "10.0.0.1", START);
+        loginThrottle.recordSuccess("alice", "10.0.0.1");
+        loginThrottle.recordFailure("alice", "10.0.0.1", START);
+        loginThrottle.recordFailure("alice", "10.0.0.1", START);
+
+        assertThat(loginThrottle.retryAfter("alice", "10.0.0.1", START)).isZero();
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedKeysOfAFullStripe() {
+        authConfiguration.getThrottle().setStripes(1);
+        authConfiguration.getThrottle().setMaxEntries(2);
+        authConfiguration.getThrottle().setMaxUserFailures(1);
+        LoginThrottle loginThrottle = loginThrottle();
+
+        loginThrottle.recordFailure("alice", "10.0.0.1", START);
+
+        assertThat(loginThrottle.retryAfter("alice", "10.0.0.1", START)).isPositive();
+
+        loginThrottle.recordFailure("bob", "10.0.0.2", START);
+
+        assertThat(loginThrottle.retryAfter("alice", "10.0.0.1", START)).isZero();
+        assertThat(loginThrottle.retryAfter("bob", "10.0.0.2", START)).isPositive();
+    }
+
+    @Test
+    void doesNothingWhenDisabled() {
+        authConfiguration.getThrottle().setEnabled(false);
+        LoginThrottle loginThrottle = loginThrottle();
+        for (int i = 0; i < 10; i++)
+            loginThrottle.recordFailure("alice", "10.0.0.1", START);
+
+        assertThat(loginThrottle.retryAfter("alice", "10.0.0.1", START)).isZero();
+    }
+
+    private LoginThrottle loginThrottle() {
+        return new LoginThrottle(authConfiguration, new SimpleMeterRegistry());
+    }
+
+    private static long seconds(long seconds) {
+        return TimeUnit.SECONDS.toNanos(seconds);
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.course.benchmarks;
+
+import br.com.course.core.json.PageJsonModule;
+import br.com.course.core.model.Course;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization of a course page with the default mapper, with Afterburner and with Afterburner plus
+ * PageJsonModule. The plain and gzipped sizes of each variant are printed once per trial; run with
+ * {@code -prof gc} for the allocated bytes per page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class CourseJsonBenchmark {
+    @Param({"20", "200", "2000"})
+    private int pageSize;
+    @Param({"default", "afterburner", "afterburner-page"})
+    private String mapper;
+    private ObjectMapper objectMapper;
+    private Page<Course> page;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        if (mapper.startsWith("afterburner"))
+            objectMapper.registerModule(new AfterburnerModule());
+        if (mapper.endsWith("page"))
+            objectMapper.registerModule(new PageJsonModule());
+
+        List<Course> courses = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++)
+            courses.add(Course.builder().id(id).title("Spring Boot microservices, part " + id).build());
+        page = new PageImpl<>(courses, PageRequest.of(3, pageSize, Sort.by("title")), 100_000);
+
+        byte[] json = serialize();
+        System.out.printf("%n%s, %d courses: %d bytes, %d bytes gzipped%n", mapper, pageSize, json.length, gzip(json).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzip() throws IOException {
+        return gzip(objectMapper.writeValueAsBytes(page));
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(json);
+        }
+        return outputStream.toByteArray();
+    }
+}
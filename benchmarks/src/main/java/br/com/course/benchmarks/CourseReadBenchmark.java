@@ -0,0 +1,98 @@
+package br.com.course.benchmarks;
+
+import br.com.course.core.model.Course;
+import br.com.course.core.repository.CourseRepository;
+import br.com.course.core.repository.projection.CourseSummary;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a large course page against an in memory H2: managed entities in a read write transaction, what
+ * {@code listAll} did before, entities in a read only transaction and {@link CourseSummary} projections.
+ * Run with {@code -prof gc} to compare the allocation per page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class CourseReadBenchmark {
+    private static final int COURSES = 20_000;
+    @Param({"100", "1000"})
+    private int pageSize;
+    private ConfigurableApplicationContext context;
+    private CourseRepository courseRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:courses;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "eureka.client.enabled=false",
+                        "spring.main.banner-mode=off")
+                .run();
+        courseRepository = context.getBean(CourseRepository.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<Course> courses = new ArrayList<>(COURSES);
+        for (int i = 0; i < COURSES; i++)
+            courses.add(Course.builder().title("Course " + i).build());
+        courseRepository.saveAll(courses);
+
+        pageable = PageRequest.of(COURSES / pageSize / 2, pageSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Course> entities() {
+        return readWrite.execute(status -> courseRepository.findAll(pageable).getContent());
+    }
+
+    @Benchmark
+    public List<Course> readOnlyEntities() {
+        return readOnly.execute(status -> courseRepository.findAll(pageable).getContent());
+    }
+
+    @Benchmark
+    public Page<CourseSummary> summaries() {
+        return courseRepository.findAllSummaries(pageable);
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("br.com.course.core.model")
+    @EnableJpaRepositories("br.com.course.core.repository")
+    static class BenchmarkApplication {
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.course.benchmarks;
+
+import br.com.course.core.search.InvertedIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the course title index holding one million titles of three to six words drawn from a
+ * vocabulary with a skewed distribution, so some terms are in most titles and others in a handful. The index
+ * size is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(1)
+@State(Scope.Benchmark)
+public class CourseSearchBenchmark {
+    private static final int COURSES = 1_000_000;
+    private static final String[] WORDS = {
+            "java", "spring", "boot", "microservices", "introduction", "advanced", "course", "security", "cloud",
+            "docker", "kubernetes", "hibernate", "jpa", "testing", "react", "angular", "design", "patterns",
+            "architecture", "reactive", "kafka", "messaging", "performance", "tuning", "database", "mysql",
+            "programming", "algorithms", "concurrency", "functional", "kotlin", "scala", "gateway", "eureka"
+    };
+    @Param({"20"})
+    private int limit;
+    private InvertedIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new InvertedIndex();
+
+        for (long id = 1; id <= COURSES; id++) {
+            StringBuilder title = new StringBuilder();
+            int words = 3 + random.nextInt(4);
+            for (int i = 0; i < words; i++) {
+                // squaring skews the choice towards the first words of the vocabulary
+                double skewed = random.nextDouble() * random.nextDouble();
+                title.append(WORDS[(int) (skewed * WORDS.length)]).append(' ');
+            }
+            title.append(id % 1000);
+            index.add(id, title.toString());
+        }
+
+        System.out.printf("%n%d courses, %d terms, %d bytes of postings%n", COURSES, index.getTermCount(), index.getPostingBytes());
+    }
+
+    @Benchmark
+    public long[] commonTerm() {
+        return index.search("java", limit);
+    }
+
+    @Benchmark
+    public long[] rareTerm() {
+        return index.search("eureka", limit);
+    }
+
+    @Benchmark
+    public long[] twoTerms() {
+        return index.search("spring kafka", limit);
+    }
+
+    @Benchmark
+    public long[] rareConjunction() {
+        return index.search("gateway eureka kotlin", limit);
+    }
+
+    @Benchmark
+    public long[] prefix() {
+        return index.search("spring micro", limit);
+    }
+
+    @Benchmark
+    public long[] shortPrefix() {
+        return index.search("java c", limit);
+    }
+
+    @Benchmark
+    public long[] noMatch() {
+        return index.search("cobol", limit);
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.course.benchmarks;
+
+import br.com.course.core.model.ApplicationUser;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the login request body. {@code newObjectMapper} is what JWTUserAndPasswordAuthFilter used to do on every
+ * login, {@code sharedReader} binds the same entity with a reader built once and {@code streamingParser} mirrors
+ * the auth LoginCredentialsReader, which only pulls the two fields out of a shared factory's parser.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class LoginBodyParsingBenchmark {
+    private static final byte[] BODY = "{\"username\":\"devdojo\",\"password\":\"devdojo\"}".getBytes(StandardCharsets.UTF_8);
+    private ObjectReader sharedReader;
+    private JsonFactory jsonFactory;
+
+    @Setup
+    public void setUp() {
+        sharedReader = new ObjectMapper().readerFor(ApplicationUser.class);
+        jsonFactory = new ObjectMapper().getFactory();
+    }
+
+    @Benchmark
+    public ApplicationUser newObjectMapper() throws IOException {
+        return new ObjectMapper().readValue(new ByteArrayInputStream(BODY), ApplicationUser.class);
+    }
+
+    @Benchmark
+    public ApplicationUser sharedReader() throws IOException {
+        return sharedReader.readValue(new ByteArrayInputStream(BODY));
+    }
+
+    @Benchmark
+    public String[] streamingParser() throws IOException {
+        String username = null;
+        String password = null;
+
+        try (JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(BODY))) {
+            parser.nextToken();
+            while ((username == null || password == null) && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("username".equals(field))
+                    username = parser.getText();
+                else if ("password".equals(field))
+                    password = parser.getText();
+                else
+                    parser.skipChildren();
+            }
+        }
+        return new String[]{username, password};
+    }
+
+    @Threads(Threads.MAX)
+    public static class MultiThreaded extends LoginBodyParsingBenchmark {
+    }
+}
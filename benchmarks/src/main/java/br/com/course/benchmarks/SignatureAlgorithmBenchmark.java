@@ -0,0 +1,58 @@
+package br.com.course.benchmarks;
+
+import br.com.course.core.property.JWTConfiguration;
+import br.com.course.token.creator.TokenCreator;
+import br.com.course.token.key.SignatureAlgorithm;
+import br.com.course.token.key.SigningKeyRing;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign and verify throughput of each supported signature algorithm. The size of the signed and of the encrypted
+ * token is printed once per trial, since it is what every request carries through the gateway.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class SignatureAlgorithmBenchmark {
+    @Param({"RS256", "ES256", "EdDSA"})
+    private String algorithm;
+    private TokenCreator tokenCreator;
+    private Authentication authentication;
+    private JWSVerifier verifier;
+    private SignedJWT signedJWT;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        JWTConfiguration jwtConfiguration = TokenFixtures.jwtConfiguration();
+        jwtConfiguration.getKeyRing().setAlgorithm(algorithm);
+        SigningKeyRing signingKeyRing = TokenFixtures.signingKeyRing(jwtConfiguration);
+        tokenCreator = TokenFixtures.tokenCreator(jwtConfiguration, signingKeyRing);
+        authentication = TokenFixtures.authentication();
+        verifier = SignatureAlgorithm.createVerifier(signingKeyRing.getActiveKey().getPublicJwk());
+        signedJWT = tokenCreator.createSignedJWT(authentication);
+
+        System.out.printf("%n%s signed token: %d bytes, encrypted token: %d bytes%n", algorithm,
+                signedJWT.serialize().length(), tokenCreator.encryptToken(signedJWT).length());
+    }
+
+    @Benchmark
+    public SignedJWT sign() {
+        return tokenCreator.createSignedJWT(authentication);
+    }
+
+    @Benchmark
+    public boolean verify() throws JOSEException, ParseException {
+        return SignedJWT.parse(signedJWT.serialize()).verify(verifier);
+    }
+}
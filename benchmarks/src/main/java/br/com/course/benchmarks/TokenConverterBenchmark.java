@@ -0,0 +1,58 @@
+package br.com.course.benchmarks;
+
+import br.com.course.core.property.JWTConfiguration;
+import br.com.course.token.converter.TokenConverter;
+import br.com.course.token.creator.TokenCreator;
+import br.com.course.token.key.SigningKeyRing;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token validation as done by the services on every request: {@code validateToken} pays the decryption and the
+ * signature verification, {@code getClaims} is the repeated request answered by the decrypted-claims cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class TokenConverterBenchmark {
+    private TokenConverter tokenConverter;
+    private String encryptedToken;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        JWTConfiguration jwtConfiguration = TokenFixtures.jwtConfiguration();
+        SigningKeyRing signingKeyRing = TokenFixtures.signingKeyRing(jwtConfiguration);
+        TokenCreator tokenCreator = TokenFixtures.tokenCreator(jwtConfiguration, signingKeyRing);
+        tokenConverter = TokenFixtures.tokenConverter(jwtConfiguration, signingKeyRing);
+        encryptedToken = tokenCreator.encryptToken(tokenCreator.createSignedJWT(TokenFixtures.authentication()));
+    }
+
+    @Benchmark
+    public SignedJWT decryptToken() throws ParseException, JOSEException, BadJOSEException {
+        return tokenConverter.decryptToken(encryptedToken);
+    }
+
+    @Benchmark
+    public JWTClaimsSet validateToken() throws ParseException, JOSEException, BadJOSEException {
+        return tokenConverter.validateToken(encryptedToken);
+    }
+
+    @Benchmark
+    public JWTClaimsSet getClaims() throws ParseException, JOSEException, BadJOSEException {
+        return tokenConverter.getClaims(encryptedToken);
+    }
+
+    @Threads(Threads.MAX)
+    public static class MultiThreaded extends TokenConverterBenchmark {
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.course.benchmarks;
+
+import br.com.course.core.property.JWTConfiguration;
+import br.com.course.token.creator.TokenCreator;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuance on the login hot path. Run with
+ * {@code java -jar benchmarks/target/benchmarks.jar TokenCreatorBenchmark -prof gc -rf json}
+ * and compare the scores and the {@code gc.alloc.rate.norm} with a previous result file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class TokenCreatorBenchmark {
+    private TokenCreator tokenCreator;
+    private Authentication authentication;
+    private SignedJWT signedJWT;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        JWTConfiguration jwtConfiguration = TokenFixtures.jwtConfiguration();
+        tokenCreator = TokenFixtures.tokenCreator(jwtConfiguration, TokenFixtures.signingKeyRing(jwtConfiguration));
+        authentication = TokenFixtures.authentication();
+        signedJWT = tokenCreator.createSignedJWT(authentication);
+    }
+
+    @Benchmark
+    public SignedJWT createSignedJWT() {
+        return tokenCreator.createSignedJWT(authentication);
+    }
+
+    @Benchmark
+    public String encryptToken() throws JOSEException {
+        return tokenCreator.encryptToken(signedJWT);
+    }
+
+    @Benchmark
+    public String issueToken() throws JOSEException {
+        return tokenCreator.encryptToken(tokenCreator.createSignedJWT(authentication));
+    }
+
+    @Threads(Threads.MAX)
+    public static class MultiThreaded extends TokenCreatorBenchmark {
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.course.benchmarks;
+
+import br.com.course.core.model.ApplicationUser;
+import br.com.course.core.property.JWTConfiguration;
+import br.com.course.token.converter.DecryptedClaimsCache;
+import br.com.course.token.converter.JwkSetCache;
+import br.com.course.token.converter.TokenConverter;
+import br.com.course.token.creator.TokenCreator;
+import br.com.course.token.key.SigningKey;
+import br.com.course.token.key.SigningKeyRing;
+import com.nimbusds.jose.KeyLengthException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.springframework.security.core.authority.AuthorityUtils.createAuthorityList;
+
+/**
+ * Builds the token components the way Spring wires them in the services, without an application context.
+ */
+final class TokenFixtures {
+
+    private TokenFixtures() {
+    }
+
+    static JWTConfiguration jwtConfiguration() {
+        JWTConfiguration jwtConfiguration = new JWTConfiguration();
+        jwtConfiguration.getKeyRing().setGenerateKeys(true);
+        jwtConfiguration.getKeyRing().setRotationInterval(0);
+        return jwtConfiguration;
+    }
+
+    static SigningKeyRing signingKeyRing(JWTConfiguration jwtConfiguration) {
+        SigningKeyRing signingKeyRing = new SigningKeyRing(jwtConfiguration);
+        signingKeyRing.init();
+        return signingKeyRing;
+    }
+
+    static TokenCreator tokenCreator(JWTConfiguration jwtConfiguration, SigningKeyRing signingKeyRing) throws KeyLengthException {
+        return new TokenCreator(jwtConfiguration, signingKeyRing);
+    }
+
+    /**
+     * Converter resolving the keys straight from the ring, so the benchmark measures the crypto and not HTTP.
+     */
+    static TokenConverter tokenConverter(JWTConfiguration jwtConfiguration, SigningKeyRing signingKeyRing) throws KeyLengthException {
+        JwkSetCache jwkSetCache = new JwkSetCache(jwtConfiguration) {
+            @Override
+            protected JWKSet fetchJwkSet() {
+                List<JWK> publicKeys = signingKeyRing.getKeys()
+                        .stream()
+                        .map(SigningKey::getPublicJwk)
+                        .collect(toList());
+                return new JWKSet(publicKeys);
+            }
+        };
+        DecryptedClaimsCache claimsCache = new DecryptedClaimsCache(jwtConfiguration, new SimpleMeterRegistry());
+        return new TokenConverter(jwtConfiguration, jwkSetCache, claimsCache);
+    }
+
+    static Authentication authentication() {
+        ApplicationUser applicationUser = ApplicationUser.builder()
+                .id(1L)
+                .username("devdojo")
+                .password("$2a$10$4Jg5oLeTbBAKnMfl4vKPZ.ng0SpwBiQpvVL8kwUqEWEkqv0Cr7MKW")
+                .role("ADMIN")
+                .build();
+        return new UsernamePasswordAuthenticationToken(applicationUser, null, createAuthorityList("ROLE_ADMIN"));
+    }
+}
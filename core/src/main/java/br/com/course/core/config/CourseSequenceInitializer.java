@@ -0,0 +1,65 @@
+package br.com.course.core.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Seeds the course_seq table Hibernate keeps the Course ids in on MySQL. The schema update creates it with 1 as
+ * the next value, so on a database filled through the former identity column the first ids handed out would
+ * collide with the existing courses. Once the schema is updated, hence the dependency on the entity manager
+ * factory, and before anything is inserted, the next value is raised to max(id) + 1 when it is not above every
+ * course id already. It is never moved back, so instances starting while others insert leave it alone. Databases
+ * with native sequences have no such table and are skipped.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class CourseSequenceInitializer {
+    private static final String SEQUENCE_TABLE = "course_seq";
+    private static final String SEED = "update course_seq set next_val = (select coalesce(max(id), 0) + 1 from course) " +
+            "where next_val <= (select coalesce(max(id), 0) from course)";
+    private final DataSource dataSource;
+
+    @Autowired
+    public CourseSequenceInitializer(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void seed() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!hasTable(connection.getMetaData(), connection.getCatalog())) {
+                log.debug("No {} table, the course ids come from a native sequence", SEQUENCE_TABLE);
+                return;
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                if (statement.executeUpdate(SEED) > 0)
+                    log.warn("Raised {} above the existing course ids", SEQUENCE_TABLE);
+            }
+
+            if (!connection.getAutoCommit())
+                connection.commit();
+        }
+    }
+
+    private static boolean hasTable(DatabaseMetaData metaData, String catalog) throws SQLException {
+        for (String name : new String[]{SEQUENCE_TABLE, SEQUENCE_TABLE.toUpperCase()}) {
+            try (ResultSet tables = metaData.getTables(catalog, null, name, new String[]{"TABLE"})) {
+                if (tables.next())
+                    return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.course.core.config;
+
+import br.com.course.core.datasource.ReadWriteRoutingDataSource;
+import br.com.course.core.datasource.ReplicaHealthMonitor;
+import br.com.course.core.property.ReplicaConfiguration;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits the data source in a primary and a read replica pool when {@code core.datasource.replica.url} is set.
+ * The primary is built from {@code spring.datasource} as Spring Boot would. The pools are named "primary" and
+ * "replica", the pool tag of their hikaricp.* meters; the meters are bound here because the routing proxy opens
+ * the primary pool before Spring Boot would get to it.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "core.datasource.replica", name = "url")
+@EnableConfigurationProperties(ReplicaConfiguration.class)
+@Slf4j
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "core.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              ReplicaConfiguration replicaConfiguration,
+                                              MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = DataSourceBuilder.create(properties.getClassLoader())
+                .type(HikariDataSource.class)
+                .url(replicaConfiguration.getUrl())
+                .username(replicaConfiguration.getUsername() == null ? properties.determineUsername() : replicaConfiguration.getUsername())
+                .password(replicaConfiguration.getPassword() == null ? properties.determinePassword() : replicaConfiguration.getPassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        // A replica down at startup must not stop the service, reads stay on the primary until it is back
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                     ReplicaConfiguration replicaConfiguration,
+                                                     MeterRegistry meterRegistry) {
+        return new ReplicaHealthMonitor(replicaDataSource, replicaConfiguration, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaHealthMonitor replicaHealthMonitor) {
+        log.info("Routing read only transactions to the replica");
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaHealthMonitor));
+    }
+}
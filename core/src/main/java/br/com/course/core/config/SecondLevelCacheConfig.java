@@ -0,0 +1,39 @@
+package br.com.course.core.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns on the Hibernate second level cache of the entities, backed by Caffeine through JCache, when
+ * {@code core.cache.enabled} is true. Region sizes live in the core {@code reference.conf}. Writes made through
+ * Hibernate evict the entity regions; native SQL writes do not.
+ * <p>
+ * The regions are local to the JVM: a write evicts them on the instance that made it only, the others keep the old
+ * entities until the region expiry. Enable it on a single instance, or where entities read by id may lag behind the
+ * database for that long. The query cache stays off for the same reason, cached listings would outlive the
+ * database-derived ETags of the other instances.
+ * <p>
+ * Statistics are generated so the actuator publishes the hibernate.second.level.cache.* meters.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "core.cache", name = "enabled", havingValue = "true")
+@Slf4j
+public class SecondLevelCacheConfig {
+    private static final String CAFFEINE_PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        log.info("Enabling the Hibernate second level cache");
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true");
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put("hibernate.javax.cache.provider", CAFFEINE_PROVIDER);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "create");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, "true");
+        };
+    }
+}
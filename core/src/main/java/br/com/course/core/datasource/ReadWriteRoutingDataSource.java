@@ -0,0 +1,50 @@
+package br.com.course.core.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out replica connections to read only transactions and primary connections to everything else. It must be
+ * wrapped in a LazyConnectionDataSourceProxy: the transaction manager asks for the connection before the
+ * transaction is flagged read only, the proxy defers the call until the first statement.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaHealthMonitor replicaHealthMonitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealthMonitor replicaHealthMonitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaHealthMonitor = replicaHealthMonitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!routeToReplica())
+            return primary.getConnection();
+
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            log.warn("Unable to get a replica connection, falling back to the primary", e);
+            replicaHealthMonitor.failed(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return (routeToReplica() ? replica : primary).getConnection(username, password);
+    }
+
+    private boolean routeToReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaHealthMonitor.isHealthy();
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.course.core.datasource;
+
+import br.com.course.core.property.ReplicaConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether the replica may serve reads. It starts unhealthy, so nothing is routed to the replica before
+ * the first successful check, and is marked down right away when a replica connection cannot be obtained.
+ */
+@Slf4j
+public class ReplicaHealthMonitor {
+    private final DataSource replica;
+    private final ReplicaConfiguration replicaConfiguration;
+    private final Counter fallbacks;
+    private volatile boolean healthy;
+    private ScheduledExecutorService checkExecutor;
+
+    public ReplicaHealthMonitor(DataSource replica, ReplicaConfiguration replicaConfiguration, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.replicaConfiguration = replicaConfiguration;
+        this.fallbacks = meterRegistry.counter("datasource.routing.fallback");
+        Gauge.builder("datasource.replica.healthy", this, monitor -> monitor.healthy ? 1 : 0)
+                .description("1 while read only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        checkExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkExecutor.scheduleWithFixedDelay(this::check, 0, replicaConfiguration.getHealthCheckInterval(), TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (checkExecutor != null)
+            checkExecutor.shutdownNow();
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * Validates a replica connection and, when configured, its replication lag.
+     */
+    public void check() {
+        try (Connection connection = replica.getConnection()) {
+            String lagQuery = replicaConfiguration.getLagQuery();
+
+            if (lagQuery == null) {
+                if (connection.isValid(1))
+                    markUp();
+                else
+                    markDown("the connection is not valid");
+                return;
+            }
+
+            try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                long lag = resultSet.next() ? resultSet.getLong(1) : -1;
+
+                if (lag < 0 || resultSet.wasNull())
+                    markDown("replication is not running");
+                else if (lag > replicaConfiguration.getMaxLag())
+                    markDown(String.format("replication lag of %d seconds", lag));
+                else
+                    markUp();
+            }
+        } catch (SQLException | RuntimeException e) {
+            markDown(e.getMessage());
+        }
+    }
+
+    /**
+     * Called by the routing data source when the replica failed to hand out a connection.
+     */
+    public void failed(SQLException e) {
+        fallbacks.increment();
+        markDown(e.getMessage());
+    }
+
+    private void markUp() {
+        if (!healthy)
+            log.info("Replica is healthy, routing read only transactions to it");
+        healthy = true;
+    }
+
+    private void markDown(String reason) {
+        if (healthy)
+            log.warn("Replica is unhealthy ({}), routing every transaction to the primary", reason);
+        healthy = false;
+    }
+}
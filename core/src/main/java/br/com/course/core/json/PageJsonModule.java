@@ -0,0 +1,91 @@
+package br.com.course.core.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes pages and slices straight to the generator: the content followed by the paging numbers. The default
+ * bean serialization of PageImpl also walks the pageable and sort objects, which repeat what the client sent.
+ * The element serializer is looked up once per element type instead of once per element.
+ */
+public class PageJsonModule extends SimpleModule {
+
+    public PageJsonModule() {
+        super("PageJsonModule");
+        addSerializer(Page.class, new PageSerializer());
+        addSerializer(Slice.class, new SliceSerializer());
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class PageSerializer extends StdSerializer<Page> {
+
+        private PageSerializer() {
+            super(Page.class);
+        }
+
+        @Override
+        public void serialize(Page page, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            writeContent(page.getContent(), generator, provider);
+            generator.writeNumberField("number", page.getNumber());
+            generator.writeNumberField("size", page.getSize());
+            generator.writeNumberField("numberOfElements", page.getNumberOfElements());
+            generator.writeNumberField("totalElements", page.getTotalElements());
+            generator.writeNumberField("totalPages", page.getTotalPages());
+            generator.writeBooleanField("first", page.isFirst());
+            generator.writeBooleanField("last", page.isLast());
+            generator.writeBooleanField("empty", page.isEmpty());
+            generator.writeEndObject();
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class SliceSerializer extends StdSerializer<Slice> {
+
+        private SliceSerializer() {
+            super(Slice.class);
+        }
+
+        @Override
+        public void serialize(Slice slice, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            writeContent(slice.getContent(), generator, provider);
+            generator.writeNumberField("number", slice.getNumber());
+            generator.writeNumberField("size", slice.getSize());
+            generator.writeNumberField("numberOfElements", slice.getNumberOfElements());
+            generator.writeBooleanField("first", slice.isFirst());
+            generator.writeBooleanField("last", slice.isLast());
+            generator.writeBooleanField("empty", slice.isEmpty());
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeContent(List<?> content, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeArrayFieldStart("content");
+
+        Class<?> elementType = null;
+        JsonSerializer<Object> serializer = null;
+
+        for (Object element : content) {
+            if (element == null) {
+                generator.writeNull();
+                continue;
+            }
+            if (element.getClass() != elementType) {
+                elementType = element.getClass();
+                serializer = provider.findTypedValueSerializer(elementType, true, null);
+            }
+            serializer.serialize(element, generator, provider);
+        }
+
+        generator.writeEndArray();
+    }
+}
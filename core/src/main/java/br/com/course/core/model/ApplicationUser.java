@@ -1,11 +1,15 @@
 package br.com.course.core.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "application-user")
+@Table(indexes = @Index(name = "idx_application_user_username", columnList = "username", unique = true))
 @Getter
 @Setter
 @Builder
@@ -21,6 +21,14 @@ public class JWTConfiguration {
     private int expiration = 3600;
     private String privateKey = "qxBEEQv7E8aviX1KUcdOiF5ve5COUPAr";
     private String type = "encrypted";
+    @NestedConfigurationProperty
+    private KeyRing keyRing = new KeyRing();
+    @NestedConfigurationProperty
+    private JwkSet jwkSet = new JwkSet();
+    @NestedConfigurationProperty
+    private ClaimsCache claimsCache = new ClaimsCache();
+    @NestedConfigurationProperty
+    private Identity identity = new Identity();
 
     @Getter
     @Setter
@@ -28,4 +36,78 @@ public class JWTConfiguration {
         private String name = "Authorization";
         private String prefix = "Bearer ";
     }
+
+    /**
+     * Signing keys used by the token creator. Every auth instance must sign with the same key, so production runs
+     * load it from {@code keyStore}. Without a key store the startup fails unless {@code generateKeys} is set, in
+     * which case the keys are generated in memory and rotated every {@code rotationInterval} seconds, the previous
+     * key being kept for {@code overlap} seconds (never less than the token expiration): only safe with a single
+     * auth instance, as the others would publish different keys.
+     * {@code algorithm} is one of RS256, ES256 or EdDSA, {@code keySize} only applies to RS256.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class KeyRing {
+        private String algorithm = "RS256";
+        private int keySize = 2048;
+        private boolean generateKeys;
+        private int rotationInterval = 86400;
+        private int overlap = 3600;
+        private String keyStore;
+        private String keyStoreType = "PKCS12";
+        @ToString.Exclude
+        private String keyStorePassword;
+        private String keyAlias;
+        @ToString.Exclude
+        private String keyPassword;
+    }
+
+    /**
+     * Public key set published by the auth service on {@code path} and fetched by the verifiers from {@code uri}.
+     * Verifiers keep the set for {@code cacheTtl} seconds and refetch it earlier only for an unknown kid, at most
+     * once every {@code minRefreshInterval} seconds.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class JwkSet {
+        private String path = "/.well-known/jwks.json";
+        private String uri = "http://localhost:8083/.well-known/jwks.json";
+        private int cacheTtl = 300;
+        private int minRefreshInterval = 30;
+        private int connectTimeout = 1000;
+        private int readTimeout = 1000;
+        private int sizeLimit = 51200;
+    }
+
+    /**
+     * Claims of the tokens already decrypted and verified, keyed by a hash of the token. Entries expire with the
+     * token, or after {@code maxTtl} seconds, and the whole cache is capped to roughly {@code maxWeight} bytes.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class ClaimsCache {
+        private boolean enabled = true;
+        private long maxWeight = 16 * 1024 * 1024;
+        private int maxTtl = 3600;
+    }
+
+    /**
+     * Internal identity forwarded by the gateway once it has verified the token: the subject and authorities
+     * signed with the shared HMAC {@code secret} (at least 32 bytes, no default) in the {@code header} request
+     * header. The identity is valid for {@code ttl} seconds and never longer than the token itself. Backends only
+     * accept it when {@code trusted}, to be set only where they cannot be reached without going through the gateway.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class Identity {
+        private String header = "X-Identity";
+        private boolean trusted = false;
+        @ToString.Exclude
+        private String secret;
+        private int ttl = 30;
+    }
 }
@@ -0,0 +1,26 @@
+package br.com.course.core.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Read replica used by read only transactions. Username and password default to the primary ones. The replica is
+ * checked every {@code healthCheckInterval} seconds; when {@code lagQuery} is set it must return the replication
+ * lag in seconds, and a lag above {@code maxLag} sends the reads back to the primary. Pool settings go under
+ * {@code core.datasource.replica.hikari}.
+ */
+@ConfigurationProperties(prefix = "core.datasource.replica")
+@Getter
+@Setter
+@ToString
+public class ReplicaConfiguration {
+    private String url;
+    private String username;
+    @ToString.Exclude
+    private String password;
+    private long healthCheckInterval = 5;
+    private String lagQuery;
+    private long maxLag = 10;
+}
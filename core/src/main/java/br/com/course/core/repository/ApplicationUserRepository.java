@@ -1,9 +1,46 @@
 package br.com.course.core.repository;
 
 import br.com.course.core.model.ApplicationUser;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * The lookup by username is cached in the {@value #CACHE_NAME} cache when caching is enabled by the application,
+ * every write evicts the user it touches so a password or role change is seen on the next login.
+ * <p>
+ * The lookup runs in a read-write transaction so it is routed to the primary: reloaded right after an eviction
+ * from a lagging replica, the old user would be cached again for the whole cache expiry.
+ */
 public interface ApplicationUserRepository extends PagingAndSortingRepository<ApplicationUser, Long> {
+    String CACHE_NAME = "applicationUsers";
 
+    @Cacheable(cacheNames = CACHE_NAME, key = "#p0", unless = "#result == null")
+    @Transactional
     ApplicationUser findByUsername(String username);
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#p0.username")
+    <S extends ApplicationUser> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_NAME, allEntries = true)
+    <S extends ApplicationUser> Iterable<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#p0.username")
+    void delete(ApplicationUser entity);
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_NAME, allEntries = true)
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_NAME, allEntries = true)
+    void deleteAll(Iterable<? extends ApplicationUser> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_NAME, allEntries = true)
+    void deleteAll();
 }
@@ -1,8 +1,54 @@
 package br.com.course.core.repository;
 
 import br.com.course.core.model.Course;
+import br.com.course.core.repository.projection.CourseCatalogState;
+import br.com.course.core.repository.projection.CourseSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
+/**
+ * Paged listings are always read from the database, never from the query cache: cached results are only
+ * invalidated on the instance that wrote, while the listing ETags are derived from the database and shared by every
+ * instance.
+ */
 public interface CourseRepository extends PagingAndSortingRepository<Course, Long> {
+    /**
+     * Same page as {@link #findAll(Pageable)} without the count query, the slice only knows whether a next page
+     * exists.
+     */
+    Slice<Course> findSliceBy(Pageable pageable);
+
+    List<Course> findAllByOrderByIdAsc(Pageable pageable);
+
+    List<Course> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<Course> findAllByOrderByTitleAscIdAsc(Pageable pageable);
+
+    /**
+     * Courses sorted after the given (title, id) pair, seeking on the idx_course_title_id index.
+     */
+    @Query("select c from Course c where c.title > :title or (c.title = :title and c.id > :id) order by c.title asc, c.id asc")
+    List<Course> findAfterTitle(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Course page as {@link CourseSummary} projections: no entity is hydrated, snapshotted or dirty checked.
+     */
+    @Transactional(readOnly = true)
+    @Query(value = "select new br.com.course.core.repository.projection.CourseSummary(c.id, c.title) from Course c",
+            countQuery = "select count(c) from Course c")
+    Page<CourseSummary> findAllSummaries(Pageable pageable);
 
+    /**
+     * Count and highest id of the catalog, an index lookup for the id and an index scan for the count.
+     */
+    @Transactional(readOnly = true)
+    @Query("select new br.com.course.core.repository.projection.CourseCatalogState(count(c), max(c.id)) from Course c")
+    CourseCatalogState findCatalogState();
 }
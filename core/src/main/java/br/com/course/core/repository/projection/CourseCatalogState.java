@@ -0,0 +1,17 @@
+package br.com.course.core.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Number of courses and highest course id, together enough to notice any insert or delete made by any instance
+ * or directly in the database, ids being never reused.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CourseCatalogState {
+    private final Long count;
+    private final Long maxId;
+}
@@ -0,0 +1,16 @@
+package br.com.course.core.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Read only view of a course built straight from the query result, never attached to the persistence context.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CourseSummary {
+    private final Long id;
+    private final String title;
+}
@@ -0,0 +1,24 @@
+package br.com.course.core.search;
+
+/**
+ * Forward only iteration over ascending document ids.
+ */
+interface IdCursor {
+
+    /**
+     * Moves to the next id, false once there are none left.
+     */
+    boolean next();
+
+    long current();
+
+    /**
+     * Moves to the first id greater than or equal to {@code target}, false once there are none left.
+     */
+    default boolean advance(long target) {
+        while (next())
+            if (current() >= target)
+                return true;
+        return false;
+    }
+}
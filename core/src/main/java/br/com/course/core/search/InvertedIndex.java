@@ -0,0 +1,162 @@
+package br.com.course.core.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In memory inverted index from the terms of a text to the ids of the documents holding them. Terms are kept
+ * sorted, so the last term of a query also matches as a prefix, which is what search as you type needs.
+ * <p>
+ * Documents are only ever added, adding one again is a no-op. Searches run concurrently and only block while a
+ * write is applied.
+ */
+public class InvertedIndex {
+    private final NavigableMap<String, PostingList> terms = new ConcurrentSkipListMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(long id, String text) {
+        Set<String> tokens = new LinkedHashSet<>(Tokenizer.tokenize(text));
+
+        lock.writeLock().lock();
+        try {
+            for (String token : tokens)
+                terms.computeIfAbsent(token, key -> new PostingList()).add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the documents holding every term of the query, the last one matched as a prefix, in ascending order.
+     *
+     * @param limit maximum number of ids returned
+     */
+    public long[] search(String query, int limit) {
+        List<String> tokens = Tokenizer.tokenize(query);
+
+        if (tokens.isEmpty() || limit <= 0)
+            return new long[0];
+
+        lock.readLock().lock();
+        try {
+            List<IdCursor> cursors = new ArrayList<>(tokens.size());
+            List<Integer> sizes = new ArrayList<>(tokens.size());
+
+            for (String token : new LinkedHashSet<>(tokens.subList(0, tokens.size() - 1))) {
+                PostingList postingList = terms.get(token);
+                if (postingList == null)
+                    return new long[0];
+                cursors.add(postingList.cursor());
+                sizes.add(postingList.size());
+            }
+
+            String prefix = tokens.get(tokens.size() - 1);
+            Map<String, PostingList> matches = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+
+            if (matches.isEmpty())
+                return new long[0];
+
+            if (matches.size() == 1) {
+                PostingList postingList = matches.values().iterator().next();
+                cursors.add(postingList.cursor());
+                sizes.add(postingList.size());
+            } else {
+                List<IdCursor> prefixCursors = new ArrayList<>(matches.size());
+                int size = 0;
+                for (PostingList postingList : matches.values()) {
+                    prefixCursors.add(postingList.cursor());
+                    size += postingList.size();
+                }
+                cursors.add(new UnionCursor(prefixCursors));
+                sizes.add(size);
+            }
+
+            return intersect(sortBySize(cursors, sizes), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        return terms.size();
+    }
+
+    /**
+     * Bytes allocated by the posting lists, the term strings and the map itself not included.
+     */
+    public long getPostingBytes() {
+        lock.readLock().lock();
+        try {
+            return terms.values().stream().mapToLong(PostingList::bytes).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static IdCursor[] sortBySize(List<IdCursor> cursors, List<Integer> sizes) {
+        Integer[] order = new Integer[cursors.size()];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        Arrays.sort(order, Comparator.comparing(sizes::get));
+
+        IdCursor[] sorted = new IdCursor[order.length];
+        for (int i = 0; i < order.length; i++)
+            sorted[i] = cursors.get(order[i]);
+        return sorted;
+    }
+
+    /**
+     * Leapfrog intersection driven by the shortest list, stopping as soon as {@code limit} ids are found.
+     */
+    private static long[] intersect(IdCursor[] cursors, int limit) {
+        long[] found = new long[Math.min(limit, 64)];
+        int count = 0;
+
+        if (!cursors[0].next())
+            return new long[0];
+
+        long candidate = cursors[0].current();
+        long[] positions = new long[cursors.length];
+        Arrays.fill(positions, Long.MIN_VALUE);
+
+        while (true) {
+            boolean matched = true;
+
+            for (int i = 1; i < cursors.length; i++) {
+                if (positions[i] < candidate) {
+                    if (!cursors[i].advance(candidate))
+                        return Arrays.copyOf(found, count);
+                    positions[i] = cursors[i].current();
+                }
+                if (positions[i] > candidate) {
+                    if (!cursors[0].advance(positions[i]))
+                        return Arrays.copyOf(found, count);
+                    candidate = cursors[0].current();
+                    matched = false;
+                    break;
+                }
+            }
+
+            if (!matched)
+                continue;
+
+            if (count == found.length)
+                found = Arrays.copyOf(found, Math.min(limit, found.length * 2));
+            found[count++] = candidate;
+
+            if (count == limit || !cursors[0].next())
+                return Arrays.copyOf(found, count);
+
+            candidate = cursors[0].current();
+        }
+    }
+}
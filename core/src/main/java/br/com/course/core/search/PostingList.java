@@ -0,0 +1,165 @@
+package br.com.course.core.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorted ids of the documents holding a term, stored as variable length deltas: ids loaded in order take one or
+ * two bytes each. Appending a larger id is the fast path. Smaller ids wait in a sorted pending array, merged into
+ * the deltas once it holds an eighth of the list, so ids arriving out of order cost an amortized constant instead
+ * of a rewrite each. Not thread safe, the index guards it.
+ */
+final class PostingList {
+    private static final long[] NO_IDS = new long[0];
+    private static final int MIN_PENDING = 16;
+    private byte[] data = new byte[4];
+    private int length;
+    private int size;
+    private long last;
+    private long[] pending = NO_IDS;
+    private int pendingSize;
+
+    /**
+     * Number of ids, an id added again out of order being counted twice until the next merge.
+     */
+    int size() {
+        return size + pendingSize;
+    }
+
+    int bytes() {
+        return data.length + pending.length * Long.BYTES;
+    }
+
+    void add(long id) {
+        if (size == 0 || id > last) {
+            append(id - last);
+            last = id;
+            size++;
+            return;
+        }
+
+        if (id == last)
+            return;
+
+        int position = Arrays.binarySearch(pending, 0, pendingSize, id);
+
+        if (position >= 0)
+            return;
+
+        if (pendingSize == pending.length)
+            pending = Arrays.copyOf(pending, Math.max(MIN_PENDING, pendingSize * 2));
+
+        int insertion = -position - 1;
+        System.arraycopy(pending, insertion, pending, insertion + 1, pendingSize - insertion);
+        pending[insertion] = id;
+        pendingSize++;
+
+        if (pendingSize >= Math.max(MIN_PENDING, size >> 3))
+            merge();
+    }
+
+    long[] toArray() {
+        long[] ids = new long[size()];
+        int count = 0;
+        IdCursor cursor = cursor();
+        while (cursor.next())
+            ids[count++] = cursor.current();
+        return count == ids.length ? ids : Arrays.copyOf(ids, count);
+    }
+
+    IdCursor cursor() {
+        if (pendingSize == 0)
+            return new Cursor();
+
+        return new UnionCursor(List.of(new Cursor(), new PendingCursor(pending, pendingSize)));
+    }
+
+    private void merge() {
+        long[] ids = toArray();
+
+        data = new byte[Math.max(4, ids.length * 2)];
+        length = 0;
+        size = 0;
+        last = 0;
+        for (long id : ids) {
+            append(id - last);
+            last = id;
+            size++;
+        }
+        data = Arrays.copyOf(data, Math.max(4, length));
+        pending = NO_IDS;
+        pendingSize = 0;
+    }
+
+    private void append(long delta) {
+        if (data.length - length < 10)
+            data = Arrays.copyOf(data, data.length + (data.length >> 1) + 10);
+
+        while ((delta & ~0x7FL) != 0) {
+            data[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[length++] = (byte) delta;
+    }
+
+    /**
+     * Forward only reader decoding one delta per step.
+     */
+    final class Cursor implements IdCursor {
+        private int offset;
+        private int read;
+        private long current;
+
+        @Override
+        public boolean next() {
+            if (read == size)
+                return false;
+
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+
+            current += delta;
+            read++;
+            return true;
+        }
+
+        @Override
+        public long current() {
+            return current;
+        }
+    }
+
+    /**
+     * Reader of the pending ids, merged with the deltas by a UnionCursor.
+     */
+    private static final class PendingCursor implements IdCursor {
+        private final long[] ids;
+        private final int size;
+        private int position = -1;
+
+        private PendingCursor(long[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+
+        @Override
+        public boolean next() {
+            if (position + 1 >= size)
+                return false;
+
+            position++;
+            return true;
+        }
+
+        @Override
+        public long current() {
+            return ids[position];
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.course.core.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits a text in lower case terms with the accents removed, so accented and plain spellings of a word match.
+ */
+public final class Tokenizer {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+
+        if (text == null)
+            return tokens;
+
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+
+        for (String token : SEPARATORS.split(normalized))
+            if (!token.isEmpty())
+                tokens.add(token);
+
+        return tokens;
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.course.core.search;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Lazy k-way merge of several cursors, each id reported once. Used for the terms matching a prefix, so a short
+ * prefix does not decode every matching list when only the first results are needed.
+ */
+final class UnionCursor implements IdCursor {
+    private final PriorityQueue<IdCursor> queue;
+    private long current = Long.MIN_VALUE;
+
+    UnionCursor(Iterable<? extends IdCursor> cursors) {
+        this.queue = new PriorityQueue<>(Comparator.comparingLong(IdCursor::current));
+        for (IdCursor cursor : cursors)
+            if (cursor.next())
+                queue.add(cursor);
+    }
+
+    @Override
+    public boolean next() {
+        while (!queue.isEmpty()) {
+            IdCursor head = queue.poll();
+            long id = head.current();
+
+            if (head.next())
+                queue.add(head);
+
+            if (id > current) {
+                current = id;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public long current() {
+        return current;
+    }
+}
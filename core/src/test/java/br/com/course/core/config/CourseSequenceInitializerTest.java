@@ -0,0 +1,65 @@
+package br.com.course.core.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The course_seq table as Hibernate creates it on MySQL, in an in memory H2 database.
+ */
+class CourseSequenceInitializerTest {
+    private final DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:sequence;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("drop all objects");
+        jdbcTemplate.execute("create table course (id bigint primary key, title varchar(255) not null)");
+        jdbcTemplate.execute("create table course_seq (next_val bigint)");
+        jdbcTemplate.update("insert into course_seq values (1)");
+    }
+
+    @Test
+    void raisesTheSequenceAboveTheExistingIds() throws SQLException {
+        jdbcTemplate.update("insert into course (id, title) values (1, 'a'), (2, 'b'), (730, 'c')");
+
+        new CourseSequenceInitializer(dataSource).seed();
+
+        assertThat(nextValue()).isEqualTo(731);
+    }
+
+    @Test
+    void leavesASequenceAlreadyAheadAlone() throws SQLException {
+        jdbcTemplate.update("insert into course (id, title) values (1, 'a'), (60, 'b')");
+        jdbcTemplate.update("update course_seq set next_val = 101");
+
+        new CourseSequenceInitializer(dataSource).seed();
+
+        assertThat(nextValue()).isEqualTo(101);
+    }
+
+    @Test
+    void leavesTheSequenceOfAnEmptyCatalogAlone() throws SQLException {
+        new CourseSequenceInitializer(dataSource).seed();
+
+        assertThat(nextValue()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsDatabasesWithoutTheTable() throws SQLException {
+        jdbcTemplate.execute("drop table course_seq");
+
+        new CourseSequenceInitializer(dataSource).seed();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from course", Long.class)).isZero();
+    }
+
+    private long nextValue() {
+        return jdbcTemplate.queryForObject("select next_val from course_seq", Long.class);
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.course.core.datasource;
+
+import br.com.course.core.config.ReadWriteRoutingConfig;
+import br.com.course.core.model.Course;
+import br.com.course.core.property.ReplicaConfiguration;
+import br.com.course.core.repository.ApplicationUserRepository;
+import br.com.course.core.repository.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in memory H2 databases stand for the primary and the replica, each holding a course with a different title
+ * so the result of a query tells which one served it.
+ */
+@SpringBootTest(classes = ReadWriteRoutingDataSourceTest.TestApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "core.datasource.replica.url=" + ReadWriteRoutingDataSourceTest.REPLICA_URL,
+        "core.datasource.replica.health-check-interval=3600",
+        "eureka.client.enabled=false"
+})
+class ReadWriteRoutingDataSourceTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private ApplicationUserRepository applicationUserRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ReplicaHealthMonitor replicaHealthMonitor;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    private ReplicaConfiguration replicaConfiguration;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        primary.update("delete from course");
+        primary.update("insert into course (id, title) values (1, 'primary')");
+        primary.update("delete from application_user");
+        primary.update("insert into application_user (id, username, password, role) values (1, 'user', 'new', 'USER')");
+
+        // Straight to the database, the replica pool hands out read only connections
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("create table if not exists course (id bigint primary key, title varchar(255) not null)");
+        replica.update("delete from course");
+        replica.update("insert into course (id, title) values (1, 'replica')");
+        replica.execute("create table if not exists application_user (id bigint primary key, username varchar(255) not null, "
+                + "password varchar(255) not null, role varchar(255) not null)");
+        replica.update("delete from application_user");
+        replica.update("insert into application_user (id, username, password, role) values (1, 'user', 'old', 'USER')");
+
+        replicaHealthMonitor.check();
+    }
+
+    @Test
+    void readOnlyTransactionsAreRoutedToTheReplica() {
+        assertThat(replicaHealthMonitor.isHealthy()).isTrue();
+        assertThat(titles(true)).containsExactly("replica");
+    }
+
+    @Test
+    void readWriteTransactionsAreRoutedToThePrimary() {
+        assertThat(titles(false)).containsExactly("primary");
+    }
+
+    @Test
+    void readOnlyTransactionsFallBackToThePrimaryWhenTheReplicaFails() {
+        replicaHealthMonitor.failed(new SQLException("replica down"));
+
+        assertThat(titles(true)).containsExactly("primary");
+
+        replicaHealthMonitor.check();
+
+        assertThat(titles(true)).containsExactly("replica");
+    }
+
+    @Test
+    void readOnlyTransactionsFallBackToThePrimaryWhenTheReplicaLags() {
+        try {
+            replicaConfiguration.setLagQuery("select 60");
+            replicaHealthMonitor.check();
+
+            assertThat(titles(true)).containsExactly("primary");
+        } finally {
+            replicaConfiguration.setLagQuery(null);
+        }
+    }
+
+    @Test
+    void userLookupsAreRoutedToThePrimary() {
+        assertThat(replicaHealthMonitor.isHealthy()).isTrue();
+        assertThat(applicationUserRepository.findByUsername("user").getPassword()).isEqualTo("new");
+    }
+
+    private List<String> titles(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> StreamSupport.stream(courseRepository.findAll().spliterator(), false)
+                .map(Course::getTitle)
+                .collect(Collectors.toList()));
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("br.com.course.core.model")
+    @EnableJpaRepositories("br.com.course.core.repository")
+    @Import(ReadWriteRoutingConfig.class)
+    static class TestApplication {
+    }
+}
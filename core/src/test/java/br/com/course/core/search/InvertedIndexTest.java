@@ -0,0 +1,94 @@
+package br.com.course.core.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.add(1, "Java Basics");
+        index.add(2, "Advanced Java");
+        index.add(3, "Spring Boot with Java");
+        index.add(4, "Spring Security");
+        index.add(5, "JavaScript for Java developers");
+        index.add(6, "Kotlin for Spring");
+    }
+
+    @Test
+    void intersectsEveryTermOfTheQuery() {
+        assertThat(index.search("spring java", 10)).containsExactly(3);
+        assertThat(index.search("java for", 10)).containsExactly(5);
+        assertThat(index.search("for spring", 10)).containsExactly(6);
+    }
+
+    @Test
+    void matchesTheLastTermAsAPrefix() {
+        assertThat(index.search("jav", 10)).containsExactly(1, 2, 3, 5);
+        assertThat(index.search("spring sec", 10)).containsExactly(4);
+        assertThat(index.search("for java", 10)).containsExactly(5);
+    }
+
+    @Test
+    void findsNothingForAnUnknownTerm() {
+        assertThat(index.search("python", 10)).isEmpty();
+        assertThat(index.search("python java", 10)).isEmpty();
+        assertThat(index.search("java xyz", 10)).isEmpty();
+        assertThat(index.search(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        assertThat(index.search("java", 2)).containsExactly(1, 2);
+        assertThat(index.search("java", 0)).isEmpty();
+    }
+
+    @Test
+    void ignoresAccentsAndCase() {
+        index.add(7, "Introdução ao SPRING");
+
+        assertThat(index.search("introducao spring", 10)).containsExactly(7);
+    }
+
+    @Test
+    void addingADocumentAgainIsANoOp() {
+        index.add(3, "Spring Boot with Java");
+
+        assertThat(index.search("java", 10)).containsExactly(1, 2, 3, 5);
+    }
+
+    @Test
+    void leapfrogMatchesABruteForceIntersection() {
+        InvertedIndex large = new InvertedIndex();
+        Random random = new Random(7);
+        String[] words = {"alpha", "beta", "gamma", "delta", "epsilon", "zeta"};
+        String[] titles = new String[5000];
+
+        for (int id = 0; id < titles.length; id++) {
+            StringBuilder title = new StringBuilder();
+            for (String word : words)
+                if (random.nextInt(3) == 0)
+                    title.append(word).append(' ');
+            titles[id] = title.toString();
+        }
+        // out of order, as when a bulk ingestion runs during the initial load
+        for (int id = titles.length - 1; id >= 0; id -= 2)
+            large.add(id, titles[id]);
+        for (int id = 0; id < titles.length; id += 2)
+            large.add(id, titles[id]);
+
+        long[] expected = LongStream.range(0, titles.length)
+                .filter(id -> titles[(int) id].contains("beta ") && titles[(int) id].contains("delta ") && titles[(int) id].contains("zeta "))
+                .toArray();
+
+        assertThat(large.search("zeta beta delta", Integer.MAX_VALUE)).containsExactly(expected);
+        assertThat(large.search("zeta beta de", Integer.MAX_VALUE)).containsExactly(expected);
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.course.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+
+    @Test
+    void storesAscendingIdsAsOneByteDeltas() {
+        PostingList postingList = new PostingList();
+        for (long id = 1; id <= 1000; id++)
+            postingList.add(id);
+
+        assertThat(postingList.size()).isEqualTo(1000);
+        assertThat(postingList.toArray()).hasSize(1000).startsWith(1, 2, 3).endsWith(999, 1000);
+        assertThat(postingList.bytes()).isLessThan(1500);
+    }
+
+    @Test
+    void encodesLargeDeltasOverSeveralBytes() {
+        long[] ids = {0, 127, 128, 16_511, 16_512, 1L << 35, Long.MAX_VALUE};
+        PostingList postingList = new PostingList();
+        for (long id : ids)
+            postingList.add(id);
+
+        assertThat(postingList.toArray()).containsExactly(ids);
+    }
+
+    @Test
+    void ignoresIdsAddedAgain() {
+        PostingList postingList = new PostingList();
+        postingList.add(10);
+        postingList.add(20);
+        postingList.add(20);
+        postingList.add(10);
+        postingList.add(10);
+
+        assertThat(postingList.toArray()).containsExactly(10, 20);
+    }
+
+    @Test
+    void keepsIdsAddedOutOfOrderSorted() {
+        PostingList postingList = new PostingList();
+        for (long id = 1000; id < 1010; id++)
+            postingList.add(id);
+        for (long id = 1; id <= 500; id++)
+            postingList.add(id);
+
+        long[] ids = postingList.toArray();
+
+        assertThat(ids).hasSize(510).isSorted().startsWith(1, 2).endsWith(1008, 1009);
+        assertThat(ids[499]).isEqualTo(500);
+        assertThat(ids[500]).isEqualTo(1000);
+        assertThat(postingList.size()).isEqualTo(510);
+    }
+
+    @Test
+    void matchesASortedSetWhateverTheOrder() {
+        Random random = new Random(42);
+        PostingList postingList = new PostingList();
+        TreeSet<Long> expected = new TreeSet<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(50_000);
+            postingList.add(id);
+            expected.add(id);
+        }
+
+        assertThat(postingList.toArray()).containsExactly(expected.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    @Test
+    void cursorAdvancesToTheFirstIdNotBelowTheTarget() {
+        PostingList postingList = new PostingList();
+        for (long id = 0; id < 100; id += 10)
+            postingList.add(id);
+        postingList.add(55);
+
+        IdCursor cursor = postingList.cursor();
+
+        assertThat(cursor.advance(31)).isTrue();
+        assertThat(cursor.current()).isEqualTo(40);
+        assertThat(cursor.advance(55)).isTrue();
+        assertThat(cursor.current()).isEqualTo(55);
+        assertThat(cursor.advance(91)).isFalse();
+    }
+
+    @Test
+    void cursorOfAnEmptyListHasNoId() {
+        assertThat(new PostingList().cursor().next()).isFalse();
+    }
+
+    static List<Long> drain(IdCursor cursor) {
+        List<Long> ids = new ArrayList<>();
+        while (cursor.next())
+            ids.add(cursor.current());
+        return ids;
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.course.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenizerTest {
+
+    @Test
+    void splitsOnAnythingButLettersAndDigits() {
+        assertThat(Tokenizer.tokenize("Spring Boot 2: REST-APIs, (part #3)"))
+                .containsExactly("spring", "boot", "2", "rest", "apis", "part", "3");
+    }
+
+    @Test
+    void lowercasesAndRemovesAccents() {
+        assertThat(Tokenizer.tokenize("Programação Orientada a Objetos ÉCOLE")).containsExactly("programacao", "orientada", "a", "objetos", "ecole");
+    }
+
+    @Test
+    void keepsRepeatedTerms() {
+        assertThat(Tokenizer.tokenize("java java")).containsExactly("java", "java");
+    }
+
+    @Test
+    void returnsNoTermForNullOrBlankText() {
+        assertThat(Tokenizer.tokenize(null)).isEmpty();
+        assertThat(Tokenizer.tokenize("  -- ")).isEmpty();
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.course.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static br.com.course.core.search.PostingListTest.drain;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UnionCursorTest {
+
+    @Test
+    void mergesCursorsReportingEachIdOnce() {
+        UnionCursor union = new UnionCursor(List.of(cursor(1, 4, 7), cursor(2, 4, 8), cursor(4, 9)));
+
+        assertThat(drain(union)).containsExactly(1L, 2L, 4L, 7L, 8L, 9L);
+    }
+
+    @Test
+    void skipsEmptyCursors() {
+        UnionCursor union = new UnionCursor(List.of(cursor(), cursor(3), cursor()));
+
+        assertThat(drain(union)).containsExactly(3L);
+        assertThat(new UnionCursor(List.of(cursor(), cursor())).next()).isFalse();
+    }
+
+    @Test
+    void advancesAcrossTheMergedCursors() {
+        UnionCursor union = new UnionCursor(List.of(cursor(1, 10, 20), cursor(5, 15, 25)));
+
+        assertThat(union.advance(11)).isTrue();
+        assertThat(union.current()).isEqualTo(15);
+        assertThat(union.advance(16)).isTrue();
+        assertThat(union.current()).isEqualTo(20);
+        assertThat(union.advance(26)).isFalse();
+    }
+
+    private static IdCursor cursor(long... ids) {
+        PostingList postingList = new PostingList();
+        for (long id : ids)
+            postingList.add(id);
+        return postingList.cursor();
+    }
+}
@@ -1,13 +1,16 @@
 package br.com.course.gateway;
 
+import br.com.course.core.property.JWTConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.netflix.eureka.EnableEurekaClient;
-import org.springframework.cloud.netflix.zuul.EnableZuulProxy;
+import org.springframework.context.annotation.ComponentScan;
 
 @SpringBootApplication
-@EnableZuulProxy
 @EnableEurekaClient
+@EnableConfigurationProperties(value = JWTConfiguration.class)
+@ComponentScan({"br.com.course.gateway", "br.com.course.token.converter"})
 public class GatewayApplication {
 
     public static void main(String[] args) {
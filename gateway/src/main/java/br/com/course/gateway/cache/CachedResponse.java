@@ -0,0 +1,44 @@
+package br.com.course.gateway.cache;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A response as received from the backend: the headers Zuul kept, the body still encoded as the backend sent it
+ * and the nano time until which it may be served without revalidation.
+ */
+@Getter
+public class CachedResponse {
+    private final int status;
+    private final List<Map.Entry<String, String>> headers;
+    private final byte[] body;
+    private final boolean gzipped;
+    private final String eTag;
+    private final long freshUntil;
+
+    public CachedResponse(int status, List<Map.Entry<String, String>> headers, byte[] body, boolean gzipped, String eTag, long freshUntil) {
+        this.status = status;
+        this.headers = List.copyOf(headers);
+        this.body = body;
+        this.gzipped = gzipped;
+        this.eTag = eTag;
+        this.freshUntil = freshUntil;
+    }
+
+    public boolean isFresh(long now) {
+        return freshUntil - now > 0;
+    }
+
+    public CachedResponse revalidated(long freshUntil) {
+        return new CachedResponse(status, headers, body, gzipped, eTag, freshUntil);
+    }
+
+    int weight() {
+        int weight = 256 + body.length;
+        for (Map.Entry<String, String> header : headers)
+            weight += 2 * (header.getKey().length() + header.getValue().length());
+        return weight;
+    }
+}
@@ -0,0 +1,252 @@
+package br.com.course.gateway.cache;
+
+import br.com.course.gateway.property.GatewayConfiguration;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store of the GET responses the gateway may serve without asking the backend, following the Cache-Control of
+ * the backend as a shared cache would: no-store, private and Set-Cookie responses are never stored, s-maxage or
+ * max-age give the freshness (capped by {@code ttl}) and no-cache makes every use a revalidation. Stale entries
+ * with an ETag are revalidated with If-None-Match, which the course listings answer without a query.
+ * <p>
+ * Misses and revalidations of the same key are collapsed: the first request goes to the backend, the concurrent
+ * ones wait for its response, or go to the backend themselves when that response may not be shared. A request
+ * in flight is forgotten after {@code collapseTimeout} even if its post filter never runs. Outcomes are counted in {@code gateway.cache.requests}, the hit ratio being the
+ * share of hit, revalidated and collapsed, and the store itself is published as the {@code gateway.response}
+ * cache metrics.
+ */
+@Component
+@Slf4j
+public class ResponseCache {
+    private final GatewayConfiguration.ResponseCache config;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter hit;
+    private final Counter miss;
+    private final Counter revalidated;
+    private final Counter collapsed;
+    private final Counter bypass;
+
+    @Autowired
+    public ResponseCache(GatewayConfiguration gatewayConfiguration, MeterRegistry meterRegistry) {
+        this.config = gatewayConfiguration.getResponseCache();
+
+        Cache<String, CachedResponse> responses = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxWeight())
+                .weigher((String key, CachedResponse response) -> 2 * key.length() + response.weight())
+                .expireAfterWrite(config.getRetention(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, responses, "gateway.response");
+        this.hit = meterRegistry.counter("gateway.cache.requests", "result", "hit");
+        this.miss = meterRegistry.counter("gateway.cache.requests", "result", "miss");
+        this.revalidated = meterRegistry.counter("gateway.cache.requests", "result", "revalidated");
+        this.collapsed = meterRegistry.counter("gateway.cache.requests", "result", "collapsed");
+        this.bypass = meterRegistry.counter("gateway.cache.requests", "result", "bypass");
+        log.info("Response cache {}", config);
+    }
+
+    public boolean isCacheable(String method, String path) {
+        if (!config.isEnabled() || !"GET".equals(method))
+            return false;
+
+        for (String cachedPath : config.getPaths()) {
+            if (pathMatcher.match(cachedPath, path))
+                return true;
+        }
+        return false;
+    }
+
+    public int getMaxEntrySize() {
+        return config.getMaxEntrySize();
+    }
+
+    /**
+     * Responses vary with the authorities of the caller and, because of the CORS headers, with its origin. Only
+     * requests with verified authorities are cached, so an anonymous caller never shares a key with another one.
+     */
+    public String key(String path, String query, String authorities, String origin) {
+        return authorities + '|' + (origin == null ? "" : origin) + '|' + path + (query == null ? "" : '?' + query);
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Joins the request of the key already sent to the backend, or makes the caller the one sending it.
+     */
+    public Flight join(String key) {
+        CompletableFuture<CachedResponse> flight = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null)
+            return new Flight(key, existing, false);
+
+        flight.orTimeout(config.getCollapseTimeout(), TimeUnit.MILLISECONDS).whenComplete((response, e) -> inFlight.remove(key, flight));
+        return new Flight(key, flight, true);
+    }
+
+    /**
+     * Waits for the response of the request another caller sent, null when it could not be reused or took longer
+     * than {@code collapseTimeout}.
+     */
+    public CachedResponse await(Flight flight) {
+        try {
+            CachedResponse response = flight.future.get(config.getCollapseTimeout(), TimeUnit.MILLISECONDS);
+            if (response != null)
+                collapsed.increment();
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            log.info("Gave up waiting for the response of '{}'", flight.key);
+            return null;
+        }
+    }
+
+    /**
+     * Ends the request of the flight, handing its response to the callers waiting for it. Null sends them to
+     * the backend, which is what a response that was not stored must do: it may be private to the caller.
+     */
+    public void land(Flight flight, CachedResponse response) {
+        inFlight.remove(flight.key, flight.future);
+        flight.future.complete(response);
+    }
+
+    /**
+     * Stores a 200 response of the backend.
+     *
+     * @return the stored response, null when it must not be stored nor shared
+     */
+    public CachedResponse store(String key, List<Map.Entry<String, String>> headers, byte[] body, boolean gzipped) {
+        miss.increment();
+
+        long freshness = freshness(headers);
+        String eTag = header(headers, HttpHeaders.ETAG);
+        CachedResponse response = new CachedResponse(200, headers, body, gzipped, eTag, System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(0, freshness)));
+
+        if (freshness < 0 || (freshness == 0 && eTag == null) || header(headers, HttpHeaders.SET_COOKIE) != null)
+            return null;
+
+        cache.put(key, response);
+        return response;
+    }
+
+    /**
+     * Refreshes an entry the backend answered 304 for, the freshness coming from the headers of the 304.
+     *
+     * @return the refreshed response, null when the 304 forbids storing it
+     */
+    public CachedResponse revalidate(String key, CachedResponse stale, List<Map.Entry<String, String>> headers) {
+        revalidated.increment();
+
+        long freshness = header(headers, HttpHeaders.CACHE_CONTROL) == null ? freshness(stale.getHeaders()) : freshness(headers);
+        CachedResponse response = stale.revalidated(System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(0, freshness)));
+
+        if (freshness < 0) {
+            cache.invalidate(key);
+            return null;
+        }
+
+        cache.put(key, response);
+        return response;
+    }
+
+    public void hit() {
+        hit.increment();
+    }
+
+    public void bypass() {
+        bypass.increment();
+    }
+
+    /**
+     * Seconds the response may be served without revalidation, negative when it must not be stored at all.
+     */
+    long freshness(List<Map.Entry<String, String>> headers) {
+        String cacheControl = header(headers, HttpHeaders.CACHE_CONTROL);
+
+        if (cacheControl == null)
+            return config.getTtl();
+
+        long maxAge = -1;
+        long sharedMaxAge = -1;
+        boolean noCache = false;
+
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            directive = directive.trim();
+            if (directive.equals("no-store") || directive.equals("private"))
+                return -1;
+            if (directive.equals("no-cache"))
+                noCache = true;
+            else if (directive.startsWith("s-maxage="))
+                sharedMaxAge = seconds(directive.substring("s-maxage=".length()));
+            else if (directive.startsWith("max-age="))
+                maxAge = seconds(directive.substring("max-age=".length()));
+        }
+
+        if (noCache)
+            return 0;
+        if (sharedMaxAge >= 0)
+            return Math.min(sharedMaxAge, config.getTtl());
+        if (maxAge >= 0)
+            return Math.min(maxAge, config.getTtl());
+        return config.getTtl();
+    }
+
+    private static long seconds(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    static String header(List<Map.Entry<String, String>> headers, String name) {
+        for (Map.Entry<String, String> header : headers) {
+            if (header.getKey().equalsIgnoreCase(name))
+                return header.getValue();
+        }
+        return null;
+    }
+
+    public static final class Flight {
+        private final String key;
+        private final CompletableFuture<CachedResponse> future;
+        private final boolean leader;
+
+        private Flight(String key, CompletableFuture<CachedResponse> future, boolean leader) {
+            this.key = key;
+            this.future = future;
+            this.leader = leader;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public boolean isLeader() {
+            return leader;
+        }
+    }
+}
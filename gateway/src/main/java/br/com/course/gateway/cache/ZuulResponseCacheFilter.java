@@ -0,0 +1,128 @@
+package br.com.course.gateway.cache;
+
+import br.com.course.gateway.security.EdgeAuthenticator;
+import br.com.course.gateway.support.HiddenHeadersRequest;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayInputStream;
+
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.PRE_DECORATION_FILTER_ORDER;
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.PRE_TYPE;
+
+/**
+ * Serves the cacheable GET requests from the ResponseCache when the stored response is fresh or another request
+ * for it is already on its way to the backend. Otherwise the request is routed without the client conditional
+ * headers, plus If-None-Match when a stale response can be revalidated, and the ZuulResponseStoreFilter stores
+ * what comes back. Requests without authorities verified by the edge authentication bypass the cache.
+ */
+public class ZuulResponseCacheFilter extends ZuulFilter {
+    static final String FLIGHT_ATTRIBUTE = ZuulResponseCacheFilter.class.getName() + ".flight";
+    static final String STALE_ATTRIBUTE = ZuulResponseCacheFilter.class.getName() + ".stale";
+    private final ResponseCache responseCache;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public ZuulResponseCacheFilter(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public String filterType() {
+        return PRE_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return PRE_DECORATION_FILTER_ORDER + 3;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        HttpServletRequest request = ctx.getRequest();
+
+        return ctx.sendZuulResponse() && responseCache.isCacheable(request.getMethod(), urlPathHelper.getPathWithinApplication(request));
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        HttpServletRequest request = ctx.getRequest();
+
+        String requestCacheControl = request.getHeader(HttpHeaders.CACHE_CONTROL);
+
+        String authorities = (String) ctx.get(EdgeAuthenticator.AUTHORITIES_ATTRIBUTE);
+
+        if (authorities == null || (requestCacheControl != null && (requestCacheControl.contains("no-cache") || requestCacheControl.contains("no-store")))) {
+            responseCache.bypass();
+            return null;
+        }
+
+        String key = responseCache.key(urlPathHelper.getPathWithinApplication(request), request.getQueryString(),
+                authorities, request.getHeader(HttpHeaders.ORIGIN));
+        CachedResponse cached = responseCache.get(key);
+
+        if (cached != null && cached.isFresh(System.nanoTime())) {
+            responseCache.hit();
+            serve(ctx, cached);
+            return null;
+        }
+
+        ResponseCache.Flight flight = responseCache.join(key);
+
+        if (!flight.isLeader()) {
+            CachedResponse collapsed = responseCache.await(flight);
+            if (collapsed != null)
+                serve(ctx, collapsed);
+            return null;
+        }
+
+        ctx.set(FLIGHT_ATTRIBUTE, flight);
+        ctx.set(STALE_ATTRIBUTE, cached);
+        ctx.setRequest(new HiddenHeadersRequest(request, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE));
+
+        if (cached != null && cached.getETag() != null)
+            ctx.addZuulRequestHeader(HttpHeaders.IF_NONE_MATCH, cached.getETag());
+
+        return null;
+    }
+
+    /**
+     * Answers with the cached response, or with 304 when it matches the If-None-Match of the client. Zuul then
+     * writes it like a backend response, gunzipping it for clients not accepting gzip.
+     */
+    static void serve(RequestContext ctx, CachedResponse cached) {
+        ctx.setSendZuulResponse(false);
+        ctx.getZuulResponseHeaders().clear();
+        cached.getHeaders().forEach(header -> ctx.addZuulResponseHeader(header.getKey(), header.getValue()));
+
+        if (matches(ctx.getRequest().getHeader(HttpHeaders.IF_NONE_MATCH), cached.getETag())) {
+            ctx.setResponseStatusCode(HttpStatus.NOT_MODIFIED.value());
+            ctx.setResponseDataStream(null);
+            return;
+        }
+
+        ctx.setResponseStatusCode(cached.getStatus());
+        ctx.setResponseGZipped(cached.isGzipped());
+        ctx.setOriginContentLength((long) cached.getBody().length);
+        ctx.setResponseDataStream(new ByteArrayInputStream(cached.getBody()));
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null)
+            return false;
+
+        String strongETag = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || strongETag.equals(candidate.startsWith("W/") ? candidate.substring(2) : candidate))
+                return true;
+        }
+        return false;
+    }
+}
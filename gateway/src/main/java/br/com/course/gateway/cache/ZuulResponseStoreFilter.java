@@ -0,0 +1,108 @@
+package br.com.course.gateway.cache;
+
+import com.netflix.util.Pair;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toList;
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.POST_TYPE;
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.SEND_RESPONSE_FILTER_ORDER;
+
+/**
+ * Post filter of the requests the ZuulResponseCacheFilter sent to the backend: stores the 200 responses, serves
+ * the stale response again after a 304 and, whatever the outcome, releases the requests waiting for this one
+ * with the stored response, or with none when it could not be stored.
+ * Bodies larger than {@code maxEntrySize} are passed through without being buffered entirely.
+ */
+@Slf4j
+public class ZuulResponseStoreFilter extends ZuulFilter {
+    private final ResponseCache responseCache;
+
+    public ZuulResponseStoreFilter(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public String filterType() {
+        return POST_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return SEND_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        return RequestContext.getCurrentContext().containsKey(ZuulResponseCacheFilter.FLIGHT_ATTRIBUTE);
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        ResponseCache.Flight flight = (ResponseCache.Flight) ctx.get(ZuulResponseCacheFilter.FLIGHT_ATTRIBUTE);
+        CachedResponse stale = (CachedResponse) ctx.get(ZuulResponseCacheFilter.STALE_ATTRIBUTE);
+        CachedResponse response = null;
+
+        try {
+            if (ctx.getThrowable() != null)
+                return null;
+
+            int status = ctx.getResponseStatusCode();
+
+            if (status == HttpStatus.NOT_MODIFIED.value() && stale != null) {
+                response = responseCache.revalidate(flight.getKey(), stale, headers(ctx));
+                ZuulResponseCacheFilter.serve(ctx, response == null ? stale : response);
+            } else if (status == HttpStatus.OK.value()) {
+                byte[] body = readBody(ctx);
+                if (body != null)
+                    response = responseCache.store(flight.getKey(), headers(ctx), body, ctx.getResponseGZipped());
+            }
+        } catch (IOException e) {
+            log.error("Unable to read the response of '{}'", flight.getKey(), e);
+        } finally {
+            responseCache.land(flight, response);
+        }
+
+        return null;
+    }
+
+    /**
+     * Buffers the body, or returns null and leaves it to be streamed when it is larger than the cache accepts.
+     */
+    private byte[] readBody(RequestContext ctx) throws IOException {
+        if (ctx.getResponseDataStream() == null)
+            return ctx.getResponseBody() == null ? new byte[0] : ctx.getResponseBody().getBytes(StandardCharsets.UTF_8);
+
+        InputStream inputStream = ctx.getResponseDataStream();
+        byte[] body = inputStream.readNBytes(responseCache.getMaxEntrySize() + 1);
+
+        if (body.length > responseCache.getMaxEntrySize()) {
+            ctx.setResponseDataStream(new SequenceInputStream(new ByteArrayInputStream(body), inputStream));
+            return null;
+        }
+
+        inputStream.close();
+        ctx.setResponseDataStream(new ByteArrayInputStream(body));
+        return body;
+    }
+
+    private static List<Map.Entry<String, String>> headers(RequestContext ctx) {
+        List<Pair<String, String>> headers = ctx.getZuulResponseHeaders();
+
+        return headers.stream()
+                .filter(header -> header.second() != null)
+                .map(header -> Map.entry(header.first(), header.second()))
+                .collect(toList());
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.course.gateway.config;
+
+import br.com.course.gateway.loadbalancer.ReactiveServerStatsFilter;
+import br.com.course.gateway.ratelimit.RateLimiter;
+import br.com.course.gateway.ratelimit.ReactiveRateLimitFilter;
+import br.com.course.gateway.security.EdgeAuthenticator;
+import br.com.course.gateway.security.ReactiveEdgeAuthFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.cloud.netflix.ribbon.SpringClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Global filters of the Spring Cloud Gateway mode, the counterparts of the Zuul filters of the ZuulConfig.
+ * <p>
+ * Tomcat is on the classpath for the Zuul mode, and Spring Boot would pick it for the reactive server too: the
+ * Reactor Netty factory is declared here so this mode really runs on the Netty event loops.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGatewayConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public ReactiveEdgeAuthFilter reactiveEdgeAuthFilter(EdgeAuthenticator edgeAuthenticator, RateLimiter rateLimiter) {
+        return new ReactiveEdgeAuthFilter(edgeAuthenticator, rateLimiter);
+    }
+
+    @Bean
+    public ReactiveRateLimitFilter reactiveRateLimitFilter(RateLimiter rateLimiter) {
+        return new ReactiveRateLimitFilter(rateLimiter);
+    }
+
+    @Bean
+    public ReactiveServerStatsFilter reactiveServerStatsFilter(SpringClientFactory springClientFactory) {
+        return new ReactiveServerStatsFilter(springClientFactory);
+    }
+}
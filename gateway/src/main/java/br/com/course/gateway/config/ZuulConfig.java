@@ -0,0 +1,43 @@
+package br.com.course.gateway.config;
+
+import br.com.course.gateway.cache.ResponseCache;
+import br.com.course.gateway.cache.ZuulResponseCacheFilter;
+import br.com.course.gateway.cache.ZuulResponseStoreFilter;
+import br.com.course.gateway.ratelimit.RateLimiter;
+import br.com.course.gateway.ratelimit.ZuulRateLimitFilter;
+import br.com.course.gateway.security.EdgeAuthenticator;
+import br.com.course.gateway.security.ZuulEdgeAuthFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.cloud.netflix.zuul.EnableZuulProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Zuul servlet proxy, the default mode. Starting with the "reactive" profile runs the gateway on Netty with
+ * Spring Cloud Gateway instead and leaves Zuul out, along with the response cache which only has a Zuul adapter.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableZuulProxy
+public class ZuulConfig {
+
+    @Bean
+    public ZuulEdgeAuthFilter zuulEdgeAuthFilter(EdgeAuthenticator edgeAuthenticator, RateLimiter rateLimiter) {
+        return new ZuulEdgeAuthFilter(edgeAuthenticator, rateLimiter);
+    }
+
+    @Bean
+    public ZuulRateLimitFilter zuulRateLimitFilter(RateLimiter rateLimiter) {
+        return new ZuulRateLimitFilter(rateLimiter);
+    }
+
+    @Bean
+    public ZuulResponseCacheFilter zuulResponseCacheFilter(ResponseCache responseCache) {
+        return new ZuulResponseCacheFilter(responseCache);
+    }
+
+    @Bean
+    public ZuulResponseStoreFilter zuulResponseStoreFilter(ResponseCache responseCache) {
+        return new ZuulResponseStoreFilter(responseCache);
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.course.gateway.loadbalancer;
+
+import com.netflix.client.config.CommonClientConfigKey;
+import com.netflix.client.config.IClientConfig;
+import com.netflix.client.config.IClientConfigKey;
+import com.netflix.loadbalancer.AbstractLoadBalancer;
+import com.netflix.loadbalancer.AbstractLoadBalancerRule;
+import com.netflix.loadbalancer.ILoadBalancer;
+import com.netflix.loadbalancer.Server;
+import com.netflix.loadbalancer.ServerStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Ribbon rule picking the cheaper of two random reachable servers (power of two choices), the cost of a server
+ * being its peak EWMA latency times its in flight requests plus one. A slow or paused instance quickly costs more
+ * than its peers, through its latency once requests complete and through its in flight count before that,
+ * without the whole traffic stampeding to the single best instance.
+ * <p>
+ * Latencies and in flight counts are the ones Ribbon already records in the ServerStats of the load balancer;
+ * the EWMA is folded lazily from the requests completed since the server was last considered. A latency above
+ * the average replaces it at once, lower ones decay into it over {@code PeakEwmaDecayTime} milliseconds, and the
+ * average of a server left without requests decays towards zero so an instance avoided for being slow is probed
+ * again once in a while.
+ * <p>
+ * Servers without samples are assumed to answer in {@code PeakEwmaInitialLatency} milliseconds, and servers first
+ * seen less than {@code SlowStartWindow} milliseconds ago have their cost raised, linearly less as they age, so a
+ * freshly registered instance warms up before taking its full share. Select the rule per service with
+ * {@code <service>.ribbon.NFLoadBalancerRuleClassName}, the same namespace holding the three settings.
+ */
+@Slf4j
+public class PeakEwmaRule extends AbstractLoadBalancerRule {
+    static final IClientConfigKey<Integer> DECAY_TIME = CommonClientConfigKey.valueOf("PeakEwmaDecayTime");
+    static final IClientConfigKey<Integer> INITIAL_LATENCY = CommonClientConfigKey.valueOf("PeakEwmaInitialLatency");
+    static final IClientConfigKey<Integer> SLOW_START_WINDOW = CommonClientConfigKey.valueOf("SlowStartWindow");
+    private static final double MIN_SLOW_START_WEIGHT = 0.1;
+    private final Map<String, Ewma> latencies = new ConcurrentHashMap<>();
+    private long decayTime = TimeUnit.SECONDS.toNanos(10);
+    private double initialLatency = 50;
+    private long slowStartWindow = TimeUnit.SECONDS.toNanos(30);
+
+    @Override
+    public void initWithNiwsConfig(IClientConfig clientConfig) {
+        decayTime = TimeUnit.MILLISECONDS.toNanos(clientConfig.getPropertyAsInteger(DECAY_TIME, 10_000));
+        initialLatency = clientConfig.getPropertyAsInteger(INITIAL_LATENCY, 50);
+        slowStartWindow = TimeUnit.MILLISECONDS.toNanos(clientConfig.getPropertyAsInteger(SLOW_START_WINDOW, 30_000));
+        log.info("Peak EWMA rule for '{}', decay {} ms, initial latency {} ms, slow start {} ms", clientConfig.getClientName(),
+                TimeUnit.NANOSECONDS.toMillis(decayTime), initialLatency, TimeUnit.NANOSECONDS.toMillis(slowStartWindow));
+    }
+
+    @Override
+    public Server choose(Object key) {
+        ILoadBalancer loadBalancer = getLoadBalancer();
+
+        if (loadBalancer == null)
+            return null;
+
+        List<Server> servers = loadBalancer.getReachableServers();
+
+        if (servers.isEmpty())
+            return null;
+        if (servers.size() == 1)
+            return servers.get(0);
+
+        if (latencies.size() > 2 * loadBalancer.getAllServers().size())
+            forgetRemovedServers(loadBalancer.getAllServers());
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(servers.size());
+        int second = random.nextInt(servers.size() - 1);
+        if (second >= first)
+            second++;
+
+        long now = System.nanoTime();
+        Server a = servers.get(first);
+        Server b = servers.get(second);
+
+        return cost(loadBalancer, a, now) <= cost(loadBalancer, b, now) ? a : b;
+    }
+
+    double cost(ILoadBalancer loadBalancer, Server server, long now) {
+        Ewma ewma = latencies.computeIfAbsent(server.getId(), id -> new Ewma(now));
+        ServerStats stats = loadBalancer instanceof AbstractLoadBalancer
+                ? ((AbstractLoadBalancer) loadBalancer).getLoadBalancerStats().getSingleServerStat(server)
+                : null;
+
+        double latency;
+        int inFlight;
+
+        if (stats == null) {
+            latency = initialLatency;
+            inFlight = 0;
+        } else {
+            latency = ewma.update(stats, now);
+            inFlight = stats.getActiveRequestsCount();
+        }
+
+        return latency * (inFlight + 1) / slowStartWeight(ewma, now);
+    }
+
+    private void forgetRemovedServers(List<Server> servers) {
+        Set<String> ids = servers.stream().map(Server::getId).collect(toSet());
+        latencies.keySet().retainAll(ids);
+    }
+
+    private double slowStartWeight(Ewma ewma, long now) {
+        long age = now - ewma.firstSeen;
+
+        if (slowStartWindow <= 0 || age >= slowStartWindow)
+            return 1;
+
+        return Math.max(MIN_SLOW_START_WEIGHT, (double) age / slowStartWindow);
+    }
+
+    /**
+     * Peak EWMA of one server, fed with the mean latency of the requests its ServerStats counted since the last
+     * update. Updates are cheap and rare enough for a lock per server.
+     */
+    private final class Ewma {
+        private final long firstSeen;
+        private long lastUpdate;
+        private long lastCount;
+        private double lastSum;
+        private double value = -1;
+
+        private Ewma(long firstSeen) {
+            this.firstSeen = firstSeen;
+            this.lastUpdate = firstSeen;
+        }
+
+        private synchronized double update(ServerStats stats, long now) {
+            long count = stats.getTotalRequestsCount();
+            double sum = count * stats.getResponseTimeAvg();
+
+            if (count < lastCount) {
+                lastCount = count;
+                lastSum = sum;
+            }
+
+            double weight = Math.exp(-(double) (now - lastUpdate) / decayTime);
+
+            if (count > lastCount) {
+                double sample = Math.max(0, (sum - lastSum) / (count - lastCount));
+                value = value < 0 || sample > value * weight ? sample : value * weight + sample * (1 - weight);
+                lastCount = count;
+                lastSum = sum;
+                lastUpdate = now;
+                return value;
+            }
+
+            return value < 0 ? initialLatency : value * weight;
+        }
+    }
+}
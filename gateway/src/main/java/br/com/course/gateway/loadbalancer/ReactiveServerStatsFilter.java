@@ -0,0 +1,63 @@
+package br.com.course.gateway.loadbalancer;
+
+import com.netflix.loadbalancer.AbstractLoadBalancer;
+import com.netflix.loadbalancer.ILoadBalancer;
+import com.netflix.loadbalancer.Server;
+import com.netflix.loadbalancer.ServerStats;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.LoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.netflix.ribbon.SpringClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Records the in flight count and the latency of the requests routed by the reactive mode in the Ribbon
+ * ServerStats, as the Ribbon client does for Zuul, so the PeakEwmaRule sees the same figures in both modes.
+ */
+public class ReactiveServerStatsFilter implements GlobalFilter, Ordered {
+    private final SpringClientFactory clientFactory;
+
+    public ReactiveServerStatsFilter(SpringClientFactory clientFactory) {
+        this.clientFactory = clientFactory;
+    }
+
+    @Override
+    public int getOrder() {
+        return LoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        URI requestUrl = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+
+        if (route == null || requestUrl == null || !"lb".equals(route.getUri().getScheme()))
+            return chain.filter(exchange);
+
+        ILoadBalancer loadBalancer = clientFactory.getLoadBalancer(route.getUri().getHost());
+
+        if (!(loadBalancer instanceof AbstractLoadBalancer))
+            return chain.filter(exchange);
+
+        ServerStats stats = ((AbstractLoadBalancer) loadBalancer).getLoadBalancerStats()
+                .getSingleServerStat(new Server(requestUrl.getHost(), requestUrl.getPort()));
+        long start = System.nanoTime();
+
+        stats.incrementActiveRequestsCount();
+
+        return chain.filter(exchange).doFinally(signal -> {
+            stats.decrementActiveRequestsCount();
+            stats.incrementNumRequests();
+            stats.noteResponseTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        });
+    }
+}
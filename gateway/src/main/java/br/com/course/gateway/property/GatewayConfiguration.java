@@ -0,0 +1,94 @@
+package br.com.course.gateway.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "gateway.config")
+@Getter
+@Setter
+@ToString
+public class GatewayConfiguration {
+    @NestedConfigurationProperty
+    private EdgeAuth edgeAuth = new EdgeAuth();
+    @NestedConfigurationProperty
+    private RateLimit rateLimit = new RateLimit();
+    @NestedConfigurationProperty
+    private ResponseCache responseCache = new ResponseCache();
+
+    /**
+     * Token validation at the edge. Requests other than CORS preflights and {@code publicPaths} (ant patterns
+     * matched against the path within the gateway) need a valid token and are rejected with 401 otherwise.
+     * Backends receive the signed identity header next to the token, which requires {@code jwt.config.identity.secret}.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class EdgeAuth {
+        private boolean enabled = true;
+        private List<String> publicPaths = new ArrayList<>(List.of("/auth/login/**", "/auth/.well-known/jwks.json"));
+    }
+
+    /**
+     * Token buckets per route and client, the client being the token subject or, for anonymous requests, the
+     * client address (the last X-Forwarded-For entry when {@code trustForwardedFor}). {@code routes} maps a
+     * service id to its limit, other routes get {@code defaultLimit}. Requests whose token is not verified yet
+     * also take a token from the bucket of their address first, so invalid tokens are limited too. Buckets are
+     * spread over {@code stripes} locks and at most {@code maxEntries} are kept, the least recently used being
+     * evicted. A limit needs a {@code rate} above zero and a {@code capacity} of at least one.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class RateLimit {
+        private boolean enabled = true;
+        private boolean trustForwardedFor = false;
+        private int stripes = 64;
+        private int maxEntries = 100_000;
+        @NestedConfigurationProperty
+        private Limit defaultLimit = new Limit();
+        private Map<String, Limit> routes = new HashMap<>();
+    }
+
+    /**
+     * Up to {@code capacity} requests in a burst, refilled at {@code rate} requests per second.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class Limit {
+        private int capacity = 100;
+        private double rate = 50;
+    }
+
+    /**
+     * Cache of the GET responses of {@code paths} (ant patterns matched against the path within the gateway),
+     * keyed by path, query and the authorities of the caller, so only requests authenticated by {@code edgeAuth}
+     * are cached. A response is reused for its s-maxage or max-age, never more than {@code ttl} seconds, and
+     * revalidated with its ETag afterwards for as long as it stays in the cache, {@code retention} seconds after
+     * it was stored. Responses larger than {@code maxEntrySize} bytes are not stored and the whole cache holds
+     * roughly {@code maxWeight} bytes. Concurrent misses of the same key wait at most {@code collapseTimeout}
+     * milliseconds for the request already sent to the backend.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class ResponseCache {
+        private boolean enabled = false;
+        private List<String> paths = new ArrayList<>();
+        private int ttl = 60;
+        private int retention = 300;
+        private int maxEntrySize = 1024 * 1024;
+        private long maxWeight = 64 * 1024 * 1024;
+        private long collapseTimeout = 5000;
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.course.gateway.ratelimit;
+
+import br.com.course.gateway.property.GatewayConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In memory token buckets, one per route and client, shared by the Zuul and the reactive filters. A bucket is
+ * stored as the single timestamp at which it will be full again (the generic cell rate algorithm), so taking a
+ * token is a comparison and an addition under the lock of its stripe.
+ * <p>
+ * Keys are spread over lock stripes, each one a bounded LRU map, so contention stays low and a flood of distinct
+ * clients cannot grow the memory past {@code maxEntries}. An evicted bucket simply starts full again.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+    private final GatewayConfiguration.RateLimit rateLimit;
+    private final Stripe[] stripes;
+    private final Limit defaultLimit;
+    private final Map<String, Limit> routeLimits = new HashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> rejected = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateLimiter(GatewayConfiguration gatewayConfiguration, MeterRegistry meterRegistry) {
+        this.rateLimit = gatewayConfiguration.getRateLimit();
+        this.meterRegistry = meterRegistry;
+        this.stripes = new Stripe[rateLimit.getStripes()];
+        int entriesPerStripe = Math.max(1, rateLimit.getMaxEntries() / rateLimit.getStripes());
+        for (int i = 0; i < stripes.length; i++)
+            stripes[i] = new Stripe(entriesPerStripe);
+        this.defaultLimit = new Limit("default", rateLimit.getDefaultLimit());
+        rateLimit.getRoutes().forEach((route, limit) -> routeLimits.put(route, new Limit(route, limit)));
+        log.info("Rate limits per route {}, default {}", rateLimit.getRoutes(), rateLimit.getDefaultLimit());
+    }
+
+    public boolean isEnabled() {
+        return rateLimit.isEnabled();
+    }
+
+    /**
+     * Takes a token from the bucket of the client on the route.
+     *
+     * @return the seconds the client must wait before trying again, zero when the request may proceed
+     */
+    public long acquire(String route, String subject, String address) {
+        return acquire(route, subject, address, System.nanoTime());
+    }
+
+    long acquire(String route, String subject, String address, long now) {
+        String client = subject != null ? "user:" + subject : "address:" + address;
+        Limit limit = routeLimits.getOrDefault(route, defaultLimit);
+
+        long wait = acquire(route + '|' + client, limit, now);
+
+        if (wait <= 0)
+            return 0;
+
+        rejected.computeIfAbsent(route, r -> meterRegistry.counter("gateway.ratelimit.rejected", "route", r)).increment();
+
+        return Math.max(1, (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Returns the client address, the last X-Forwarded-For entry being the one added by a trusted proxy.
+     */
+    public String clientAddress(String forwardedFor, String remoteAddress) {
+        if (!rateLimit.isTrustForwardedFor() || forwardedFor == null || forwardedFor.isBlank())
+            return remoteAddress;
+
+        return forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+    }
+
+    private long acquire(String key, Limit limit, long now) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(now);
+                stripe.buckets.put(key, bucket);
+            }
+            long fullAt = bucket.fullAt - now < 0 ? now : bucket.fullAt;
+            long wait = fullAt - limit.tolerance - now;
+            if (wait > 0)
+                return wait;
+            bucket.fullAt = fullAt + limit.interval;
+            return 0;
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[((hash ^ (hash >>> 16)) & 0x7fffffff) % stripes.length];
+    }
+
+    private static final class Stripe {
+        private final Map<String, Bucket> buckets;
+
+        private Stripe(int maxEntries) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+    }
+
+    private static final class Bucket {
+        private long fullAt;
+
+        private Bucket(long fullAt) {
+            this.fullAt = fullAt;
+        }
+    }
+
+    /**
+     * A limit in nanoseconds: one token is refilled every {@code interval}, and a bucket may run up to
+     * {@code tolerance} ahead of now, which is the burst of {@code capacity} tokens. A limit letting nothing
+     * through, or everything, is rejected at startup rather than silently turned into one that does.
+     */
+    private static final class Limit {
+        private final long interval;
+        private final long tolerance;
+
+        private Limit(String route, GatewayConfiguration.Limit limit) {
+            if (!(limit.getRate() > 0) || limit.getRate() > TimeUnit.SECONDS.toNanos(1))
+                throw new IllegalStateException("Rate limit '" + route + "': rate must be above 0 and at most 1e9, got " + limit.getRate());
+            if (limit.getCapacity() < 1)
+                throw new IllegalStateException("Rate limit '" + route + "': capacity must be at least 1, got " + limit.getCapacity());
+
+            this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRate());
+            this.tolerance = interval * (limit.getCapacity() - 1);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.course.gateway.ratelimit;
+
+import br.com.course.gateway.security.EdgeAuthenticator;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Reactive adapter of the RateLimiter, running right after the edge authentication. Routes built from the
+ * discovery client are limited under their service id, like the Zuul routes, the others under their route id.
+ * Requests the edge authentication has to verify a token for are limited per address by the
+ * ReactiveEdgeAuthFilter beforehand.
+ */
+public class ReactiveRateLimitFilter implements GlobalFilter, Ordered {
+    private final RateLimiter rateLimiter;
+
+    public ReactiveRateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!rateLimiter.isEnabled())
+            return chain.filter(exchange);
+
+        long retryAfter = acquire(rateLimiter, exchange, exchange.getAttribute(EdgeAuthenticator.SUBJECT_ATTRIBUTE));
+
+        if (retryAfter <= 0)
+            return chain.filter(exchange);
+
+        return tooManyRequests(exchange, retryAfter);
+    }
+
+    /**
+     * Takes a token from the bucket of the subject, or of the client address without one.
+     *
+     * @return the seconds the client must wait before trying again, zero when the request may proceed
+     */
+    public static long acquire(RateLimiter rateLimiter, ServerWebExchange exchange, String subject) {
+        ServerHttpRequest request = exchange.getRequest();
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+
+        String address = rateLimiter.clientAddress(request.getHeaders().getFirst("X-Forwarded-For"),
+                remoteAddress == null ? null : remoteAddress.getAddress().getHostAddress());
+        return rateLimiter.acquire(routeOf(exchange), subject, address);
+    }
+
+    public static Mono<Void> tooManyRequests(ServerWebExchange exchange, long retryAfter) {
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        return exchange.getResponse().setComplete();
+    }
+
+    private static String routeOf(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+
+        if (route == null)
+            return "null";
+
+        return "lb".equals(route.getUri().getScheme()) ? route.getUri().getHost() : route.getId();
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.course.gateway.ratelimit;
+
+import br.com.course.gateway.security.EdgeAuthenticator;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.PRE_DECORATION_FILTER_ORDER;
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.PRE_TYPE;
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.PROXY_KEY;
+
+/**
+ * Zuul adapter of the RateLimiter, running after the edge authentication so authenticated requests are limited
+ * per subject. Requests over the limit are answered with 429 and Retry-After without being routed. Requests the
+ * edge authentication has to verify a token for are limited per address by the ZuulEdgeAuthFilter beforehand.
+ */
+public class ZuulRateLimitFilter extends ZuulFilter {
+    private final RateLimiter rateLimiter;
+
+    public ZuulRateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public String filterType() {
+        return PRE_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return PRE_DECORATION_FILTER_ORDER + 2;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        return rateLimiter.isEnabled() && RequestContext.getCurrentContext().sendZuulResponse();
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        limit(rateLimiter, ctx, (String) ctx.get(EdgeAuthenticator.SUBJECT_ATTRIBUTE));
+        return null;
+    }
+
+    /**
+     * Takes a token from the bucket of the subject, or of the client address without one, and answers with 429
+     * when it is empty.
+     *
+     * @return whether the request may proceed
+     */
+    public static boolean limit(RateLimiter rateLimiter, RequestContext ctx, String subject) {
+        HttpServletRequest request = ctx.getRequest();
+
+        String address = rateLimiter.clientAddress(request.getHeader("X-Forwarded-For"), request.getRemoteAddr());
+        long retryAfter = rateLimiter.acquire(String.valueOf(ctx.get(PROXY_KEY)), subject, address);
+
+        if (retryAfter <= 0)
+            return true;
+
+        ctx.setSendZuulResponse(false);
+        ctx.setResponseStatusCode(HttpStatus.TOO_MANY_REQUESTS.value());
+        ctx.addZuulResponseHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        return false;
+    }
+}
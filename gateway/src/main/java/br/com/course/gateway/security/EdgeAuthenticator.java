@@ -0,0 +1,150 @@
+package br.com.course.gateway.security;
+
+import br.com.course.core.property.JWTConfiguration;
+import br.com.course.gateway.property.GatewayConfiguration;
+import br.com.course.token.converter.DecryptedClaimsCache;
+import br.com.course.token.converter.IdentityConverter;
+import br.com.course.token.converter.TokenConverter;
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.text.ParseException;
+import java.util.List;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Validates the token once at the edge and turns it into the identity forwarded to the backends. Shared by the
+ * Zuul and the reactive filters, which only adapt it to their request and response types. The verified claims are
+ * kept in the DecryptedClaimsCache, so a token presented again costs a hash lookup and one HMAC.
+ * <p>
+ * The token is forwarded along with the identity: backends trusting the gateway read the identity, the others
+ * keep decrypting the token. Edge validation refuses to start without the identity secret.
+ */
+@Component
+@Slf4j
+public class EdgeAuthenticator {
+    /**
+     * Request attribute holding the subject of the verified token, for the filters running after this one.
+     */
+    public static final String SUBJECT_ATTRIBUTE = EdgeAuthenticator.class.getName() + ".subject";
+    /**
+     * Request attribute holding the sorted, comma separated authorities of the verified token.
+     */
+    public static final String AUTHORITIES_ATTRIBUTE = EdgeAuthenticator.class.getName() + ".authorities";
+    private final JWTConfiguration jwtConfiguration;
+    private final TokenConverter tokenConverter;
+    private final DecryptedClaimsCache claimsCache;
+    private final IdentityConverter identityConverter;
+    private final boolean enabled;
+    private final List<String> publicPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Counter accepted;
+    private final Counter rejected;
+
+    @Autowired
+    public EdgeAuthenticator(JWTConfiguration jwtConfiguration, GatewayConfiguration gatewayConfiguration, TokenConverter tokenConverter,
+                             DecryptedClaimsCache claimsCache, IdentityConverter identityConverter, MeterRegistry meterRegistry) {
+        this.jwtConfiguration = jwtConfiguration;
+        this.tokenConverter = tokenConverter;
+        this.claimsCache = claimsCache;
+        this.identityConverter = identityConverter;
+        this.enabled = gatewayConfiguration.getEdgeAuth().isEnabled();
+
+        if (enabled && !identityConverter.isConfigured())
+            throw new IllegalStateException("gateway.config.edge-auth needs jwt.config.identity.secret to sign the identities");
+
+        this.publicPaths = List.copyOf(gatewayConfiguration.getEdgeAuth().getPublicPaths());
+        this.accepted = meterRegistry.counter("gateway.auth", "result", "accepted");
+        this.rejected = meterRegistry.counter("gateway.auth", "result", "rejected");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean requiresToken(String method, String path) {
+        if ("OPTIONS".equals(method))
+            return false;
+
+        for (String publicPath : publicPaths) {
+            if (pathMatcher.match(publicPath, path))
+                return false;
+        }
+        return true;
+    }
+
+    public String getTokenHeader() {
+        return jwtConfiguration.getHeader().getName();
+    }
+
+    public String getIdentityHeader() {
+        return jwtConfiguration.getIdentity().getHeader();
+    }
+
+    /**
+     * Returns the token of the authorization header, or null when the header is missing or has another scheme.
+     */
+    public String getToken(String header) {
+        String prefix = jwtConfiguration.getHeader().getPrefix();
+
+        if (header == null || !header.startsWith(prefix))
+            return null;
+
+        return header.substring(prefix.length()).trim();
+    }
+
+    /**
+     * Returns the claims of a token already verified, or null when the token has to go through
+     * {@link #getClaims(String)}.
+     */
+    public JWTClaimsSet getCachedClaims(String token) {
+        return claimsCache.get(token);
+    }
+
+    /**
+     * Decrypts and verifies the token, returning its claims or null when the token is invalid.
+     */
+    public JWTClaimsSet getClaims(String token) {
+        try {
+            return tokenConverter.getClaims(token);
+        } catch (Exception e) {
+            log.info("Token rejected at the edge '{}'", e.getMessage());
+            rejected();
+            return null;
+        }
+    }
+
+    public String getAuthorities(JWTClaimsSet claims) {
+        try {
+            List<String> authorities = claims.getStringListClaim("authorities");
+            return authorities == null ? "" : authorities.stream().sorted().collect(joining(","));
+        } catch (ParseException e) {
+            return "";
+        }
+    }
+
+    public void rejected() {
+        rejected.increment();
+    }
+
+    /**
+     * Returns the identity to forward for the claims of a verified token, or null when it cannot be signed.
+     */
+    public String createIdentity(JWTClaimsSet claims) {
+        try {
+            String identity = identityConverter.createIdentity(claims);
+            accepted.increment();
+            return identity;
+        } catch (Exception e) {
+            log.error("Unable to sign the identity of '{}'", claims.getSubject(), e);
+            rejected();
+            return null;
+        }
+    }
+}
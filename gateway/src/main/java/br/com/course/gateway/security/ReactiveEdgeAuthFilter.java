@@ -0,0 +1,91 @@
+package br.com.course.gateway.security;
+
+import br.com.course.gateway.ratelimit.RateLimiter;
+import br.com.course.gateway.ratelimit.ReactiveRateLimitFilter;
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Optional;
+
+/**
+ * Reactive adapter of the EdgeAuthenticator. Tokens found in the claims cache are handled on the event loop, the
+ * first decryption of a token and a possible JWK set fetch run on the bounded elastic scheduler instead. Requests
+ * without a token already verified are first limited per client address, so a flood of missing or invalid tokens
+ * is answered with 429 without decrypting each of them.
+ */
+public class ReactiveEdgeAuthFilter implements GlobalFilter, Ordered {
+    private final EdgeAuthenticator authenticator;
+    private final RateLimiter rateLimiter;
+
+    public ReactiveEdgeAuthFilter(EdgeAuthenticator authenticator, RateLimiter rateLimiter) {
+        this.authenticator = authenticator;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!authenticator.isEnabled())
+            return chain.filter(exchange);
+
+        ServerHttpRequest request = exchange.getRequest();
+
+        if (!authenticator.requiresToken(request.getMethodValue(), request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange.mutate()
+                    .request(request.mutate().headers(headers -> headers.remove(authenticator.getIdentityHeader())).build())
+                    .build());
+        }
+
+        String token = authenticator.getToken(request.getHeaders().getFirst(authenticator.getTokenHeader()));
+        JWTClaimsSet claims = token == null ? null : authenticator.getCachedClaims(token);
+
+        if (claims != null)
+            return forward(exchange, chain, claims);
+
+        long retryAfter = rateLimiter.isEnabled() ? ReactiveRateLimitFilter.acquire(rateLimiter, exchange, null) : 0;
+
+        if (retryAfter > 0)
+            return ReactiveRateLimitFilter.tooManyRequests(exchange, retryAfter);
+
+        if (token == null) {
+            authenticator.rejected();
+            return reject(exchange);
+        }
+
+        return Mono.fromCallable(() -> Optional.ofNullable(authenticator.getClaims(token)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(verified -> verified.map(value -> forward(exchange, chain, value)).orElseGet(() -> reject(exchange)));
+    }
+
+    private Mono<Void> forward(ServerWebExchange exchange, GatewayFilterChain chain, JWTClaimsSet claims) {
+        String identity = authenticator.createIdentity(claims);
+
+        if (identity == null)
+            return reject(exchange);
+
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> headers.set(authenticator.getIdentityHeader(), identity))
+                .build();
+
+        exchange.getAttributes().put(EdgeAuthenticator.SUBJECT_ATTRIBUTE, claims.getSubject());
+        exchange.getAttributes().put(EdgeAuthenticator.AUTHORITIES_ATTRIBUTE, authenticator.getAuthorities(claims));
+
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
+    }
+}
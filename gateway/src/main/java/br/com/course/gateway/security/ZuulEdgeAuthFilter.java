@@ -0,0 +1,86 @@
+package br.com.course.gateway.security;
+
+import br.com.course.gateway.ratelimit.RateLimiter;
+import br.com.course.gateway.ratelimit.ZuulRateLimitFilter;
+import br.com.course.gateway.support.HiddenHeadersRequest;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.PRE_DECORATION_FILTER_ORDER;
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.PRE_TYPE;
+
+/**
+ * Zuul adapter of the EdgeAuthenticator. Requests without a valid token are answered with 401 without being
+ * routed, the others reach the backend with the identity header next to the token. An identity header sent by
+ * the client is never forwarded. Requests without a token already verified are first limited per client address,
+ * so a flood of missing or invalid tokens is answered with 429 without decrypting each of them.
+ */
+@Slf4j
+public class ZuulEdgeAuthFilter extends ZuulFilter {
+    private final EdgeAuthenticator authenticator;
+    private final RateLimiter rateLimiter;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public ZuulEdgeAuthFilter(EdgeAuthenticator authenticator, RateLimiter rateLimiter) {
+        this.authenticator = authenticator;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public String filterType() {
+        return PRE_TYPE;
+    }
+
+    @Override
+    public int filterOrder() {
+        return PRE_DECORATION_FILTER_ORDER + 1;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        return authenticator.isEnabled();
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        HttpServletRequest request = ctx.getRequest();
+
+        if (!authenticator.requiresToken(request.getMethod(), urlPathHelper.getPathWithinApplication(request))) {
+            ctx.setRequest(new HiddenHeadersRequest(request, authenticator.getIdentityHeader()));
+            return null;
+        }
+
+        String token = authenticator.getToken(request.getHeader(authenticator.getTokenHeader()));
+        JWTClaimsSet claims = token == null ? null : authenticator.getCachedClaims(token);
+
+        if (claims == null && rateLimiter.isEnabled() && !ZuulRateLimitFilter.limit(rateLimiter, ctx, null))
+            return null;
+
+        if (token == null)
+            authenticator.rejected();
+        else if (claims == null)
+            claims = authenticator.getClaims(token);
+
+        String identity = claims == null ? null : authenticator.createIdentity(claims);
+
+        if (identity == null) {
+            ctx.setSendZuulResponse(false);
+            ctx.setResponseStatusCode(HttpStatus.UNAUTHORIZED.value());
+            return null;
+        }
+
+        ctx.set(EdgeAuthenticator.SUBJECT_ATTRIBUTE, claims.getSubject());
+        ctx.set(EdgeAuthenticator.AUTHORITIES_ATTRIBUTE, authenticator.getAuthorities(claims));
+        ctx.setRequest(new HiddenHeadersRequest(request, authenticator.getIdentityHeader()));
+        ctx.addZuulRequestHeader(authenticator.getIdentityHeader(), identity);
+
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.course.gateway.support;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Request without some of the client headers, set as the Zuul request so the hidden headers are not forwarded to
+ * the backend. Headers added with {@code addZuulRequestHeader} are still sent.
+ */
+public class HiddenHeadersRequest extends HttpServletRequestWrapper {
+    private final Set<String> hidden;
+
+    public HiddenHeadersRequest(HttpServletRequest request, String... hidden) {
+        super(request);
+        this.hidden = Arrays.stream(hidden).map(name -> name.toLowerCase(Locale.ROOT)).collect(toSet());
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return isHidden(name) ? null : super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                .filter(name -> !isHidden(name))
+                .collect(toList()));
+    }
+
+    private boolean isHidden(String name) {
+        return hidden.contains(name.toLowerCase(Locale.ROOT));
+    }
+}
@@ -3,7 +3,7 @@ package br.com.course.gateway;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "jwt.config.identity.secret=context-test-identity-secret-0123456789")
 class GatewayApplicationTests {
 
     @Test
@@ -0,0 +1,229 @@
+package br.com.course.gateway;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput and p99 latency of the Zuul and the reactive modes in front of the same slow backend, a JDK HTTP
+ * server answering after {@code BACKEND_DELAY} milliseconds. Routes point straight at the backend so Eureka is
+ * not needed, and the edge token validation, the rate limits and the response cache are off. Zuul runs on Tomcat
+ * with fewer threads than concurrent clients, the reactive mode on the Reactor Netty event loops, both with the
+ * same backend connection limit. Run it explicitly:
+ * <pre>
+ * mvn test -Dtest=GatewayLoadTest -Dgateway.load-test=true
+ * </pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "gateway.load-test", matches = "true")
+class GatewayLoadTest {
+    private static final int BACKEND_DELAY = 50;
+    private static final int CLIENTS = 400;
+    private static final int TOMCAT_THREADS = 100;
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(20);
+    private static final byte[] BODY = "[{\"id\":1,\"title\":\"Spring Boot microservices\"}]".getBytes(StandardCharsets.UTF_8);
+    private static HttpServer backend;
+
+    @BeforeAll
+    static void startBackend() throws IOException {
+        backend = HttpServer.create(new InetSocketAddress("localhost", 0), 1000);
+        backend.setExecutor(Executors.newFixedThreadPool(CLIENTS * 2));
+        backend.createContext("/", exchange -> {
+            try {
+                Thread.sleep(BACKEND_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(BODY);
+            }
+        });
+        backend.start();
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.stop(0);
+    }
+
+    @Test
+    void compareZuulAndReactiveModes() throws Exception {
+        String backendUrl = "http://localhost:" + backend.getAddress().getPort();
+
+        Result zuul = run("zuul", TomcatWebServer.class, new SpringApplicationBuilder(GatewayApplication.class),
+                "/gateway/course/v1/admin/course",
+                "server.tomcat.max-threads=" + TOMCAT_THREADS,
+                "zuul.routes.course.path=/course/**",
+                "zuul.routes.course.url=" + backendUrl,
+                "zuul.host.max-total-connections=1000",
+                "zuul.host.max-per-route-connections=1000",
+                "zuul.host.socket-timeout-millis=10000");
+
+        Result reactive = run("reactive", NettyWebServer.class, new SpringApplicationBuilder(GatewayApplication.class).profiles("reactive"),
+                "/gateway/course/v1/admin/course",
+                "spring.cloud.gateway.discovery.locator.enabled=false",
+                "spring.cloud.gateway.routes[0].id=course",
+                "spring.cloud.gateway.routes[0].uri=" + backendUrl,
+                "spring.cloud.gateway.routes[0].predicates[0]=Path=/gateway/course/**",
+                "spring.cloud.gateway.routes[0].filters[0]=RewritePath=/gateway/course/(?<remaining>.*), /$\\{remaining}");
+
+        log.warn("mode      requests/s     p50 ms     p99 ms   errors");
+        log.warn(zuul.toString());
+        log.warn(reactive.toString());
+
+        assertThat(zuul.errorRate()).isLessThan(0.01);
+        assertThat(reactive.errorRate()).isLessThan(0.01);
+    }
+
+    private static String[] commonProperties() {
+        return new String[]{
+                "server.port=0",
+                "eureka.client.enabled=false",
+                "gateway.config.edge-auth.enabled=false",
+                "jwt.config.identity.secret=gateway-load-test-identity-secret-0123",
+                "gateway.config.rate-limit.enabled=false",
+                "gateway.config.response-cache.enabled=false",
+                "spring.main.banner-mode=off"
+        };
+    }
+
+    /**
+     * The properties are passed as command line arguments, so they override the ones of the application.yml.
+     */
+    private Result run(String mode, Class<? extends WebServer> server, SpringApplicationBuilder builder, String path, String... properties) throws Exception {
+        String[] arguments = Stream.concat(Arrays.stream(commonProperties()), Arrays.stream(properties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+
+        try (ConfigurableApplicationContext context = builder.run(arguments)) {
+            assertThat(((WebServerApplicationContext) context).getWebServer()).isInstanceOf(server);
+
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + path);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            load(client, uri, WARM_UP);
+            return new Result(mode, load(client, uri, DURATION), DURATION);
+        }
+    }
+
+    /**
+     * Closed loop: every client sends its next request as soon as the previous one completed.
+     */
+    private List<long[]> load(HttpClient client, URI uri, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).GET().build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+
+        try {
+            List<Future<long[]>> futures = new ArrayList<>(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() != 200)
+                                errors++;
+                        } catch (IOException e) {
+                            errors++;
+                        }
+                        if (count == latencies.length)
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    long[] result = Arrays.copyOf(latencies, count + 1);
+                    result[count] = errors;
+                    return result;
+                }));
+            }
+
+            List<long[]> results = new ArrayList<>(CLIENTS);
+            for (Future<long[]> future : futures)
+                results.add(future.get());
+            return results;
+        } finally {
+            clients.shutdownNow();
+            clients.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static final class Result {
+        private final String mode;
+        private final long requests;
+        private final long errors;
+        private final double throughput;
+        private final double p50;
+        private final double p99;
+
+        private Result(String mode, List<long[]> clients, Duration duration) {
+            long errorCount = 0;
+            int total = 0;
+            for (long[] client : clients) {
+                total += client.length - 1;
+                errorCount += client[client.length - 1];
+            }
+
+            long[] latencies = new long[total];
+            int position = 0;
+            for (long[] client : clients) {
+                System.arraycopy(client, 0, latencies, position, client.length - 1);
+                position += client.length - 1;
+            }
+            Arrays.sort(latencies);
+
+            this.mode = mode;
+            this.requests = total;
+            this.errors = errorCount;
+            this.throughput = total / (double) duration.getSeconds();
+            this.p50 = total == 0 ? 0 : latencies[(int) (total * 0.50)] / 1e6;
+            this.p99 = total == 0 ? 0 : latencies[Math.min(total - 1, (int) (total * 0.99))] / 1e6;
+        }
+
+        private double errorRate() {
+            return requests == 0 ? 1 : errors / (double) requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %12.0f %10.1f %10.1f %8d", mode, throughput, p50, p99, errors);
+        }
+    }
+}
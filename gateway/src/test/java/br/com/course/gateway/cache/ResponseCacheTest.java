@@ -0,0 +1,139 @@
+package br.com.course.gateway.cache;
+
+import br.com.course.gateway.property.GatewayConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+    private static final String KEY = "ADMIN||/course/v1/admin/course";
+    private static final byte[] BODY = "[]".getBytes(StandardCharsets.UTF_8);
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        GatewayConfiguration gatewayConfiguration = new GatewayConfiguration();
+        gatewayConfiguration.getResponseCache().setEnabled(true);
+        gatewayConfiguration.getResponseCache().setTtl(60);
+        gatewayConfiguration.getResponseCache().setCollapseTimeout(200);
+        responseCache = new ResponseCache(gatewayConfiguration, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void freshnessFollowsTheSharedCacheDirectives() {
+        assertThat(responseCache.freshness(List.of())).isEqualTo(60);
+        assertThat(responseCache.freshness(cacheControl("max-age=30"))).isEqualTo(30);
+        assertThat(responseCache.freshness(cacheControl("max-age=0, s-maxage=5"))).isEqualTo(5);
+        assertThat(responseCache.freshness(cacheControl("Public, MAX-AGE=7"))).isEqualTo(7);
+        assertThat(responseCache.freshness(cacheControl("max-age=3600"))).isEqualTo(60);
+        assertThat(responseCache.freshness(cacheControl("public"))).isEqualTo(60);
+        assertThat(responseCache.freshness(cacheControl("max-age=soon"))).isZero();
+        assertThat(responseCache.freshness(cacheControl("no-cache, max-age=30"))).isZero();
+        assertThat(responseCache.freshness(cacheControl("no-store"))).isNegative();
+        assertThat(responseCache.freshness(cacheControl("private, max-age=30"))).isNegative();
+    }
+
+    @Test
+    void storesSharedResponsesUntilTheyGetStale() {
+        long before = System.nanoTime();
+        CachedResponse stored = responseCache.store(KEY, cacheControl("max-age=0, s-maxage=5"), BODY, false);
+
+        assertThat(stored).isNotNull();
+        assertThat(responseCache.get(KEY)).isSameAs(stored);
+        assertThat(stored.isFresh(before)).isTrue();
+        assertThat(stored.isFresh(before + TimeUnit.SECONDS.toNanos(6))).isFalse();
+    }
+
+    @Test
+    void keepsNoCacheResponsesOnlyWithAnETagToRevalidate() {
+        assertThat(responseCache.store(KEY, cacheControl("no-cache"), BODY, false)).isNull();
+
+        CachedResponse stored = responseCache.store(KEY, List.of(Map.entry("Cache-Control", "no-cache"), Map.entry("ETag", "\"1-1\"")), BODY, false);
+
+        assertThat(stored).isNotNull();
+        assertThat(stored.isFresh(System.nanoTime())).isFalse();
+        assertThat(stored.getETag()).isEqualTo("\"1-1\"");
+    }
+
+    @Test
+    void neverStoresNorSharesPrivateResponses() {
+        assertThat(responseCache.store(KEY, cacheControl("private, max-age=30"), BODY, false)).isNull();
+        assertThat(responseCache.store(KEY, cacheControl("no-store"), BODY, false)).isNull();
+        assertThat(responseCache.store(KEY, List.of(Map.entry("Set-Cookie", "session=1")), BODY, false)).isNull();
+        assertThat(responseCache.get(KEY)).isNull();
+    }
+
+    @Test
+    void revalidationRefreshesOrDropsTheEntry() {
+        CachedResponse stale = responseCache.store(KEY, List.of(Map.entry("Cache-Control", "no-cache"), Map.entry("ETag", "\"1-1\"")), BODY, false);
+
+        CachedResponse revalidated = responseCache.revalidate(KEY, stale, cacheControl("max-age=0, s-maxage=5"));
+
+        assertThat(revalidated.isFresh(System.nanoTime())).isTrue();
+        assertThat(revalidated.getBody()).isEqualTo(BODY);
+        assertThat(responseCache.get(KEY)).isSameAs(revalidated);
+
+        assertThat(responseCache.revalidate(KEY, revalidated, cacheControl("no-store"))).isNull();
+        assertThat(responseCache.get(KEY)).isNull();
+    }
+
+    @Test
+    void keysVaryWithAuthoritiesOriginAndQuery() {
+        assertThat(responseCache.key("/course", "page=1", "ADMIN", null)).isNotEqualTo(responseCache.key("/course", "page=1", "USER", null));
+        assertThat(responseCache.key("/course", "page=1", "ADMIN", null)).isNotEqualTo(responseCache.key("/course", "page=1", "ADMIN", "http://a"));
+        assertThat(responseCache.key("/course", "page=1", "ADMIN", null)).isNotEqualTo(responseCache.key("/course", "page=2", "ADMIN", null));
+    }
+
+    @Test
+    void collapsedRequestsGetTheStoredResponse() {
+        ResponseCache.Flight leader = responseCache.join(KEY);
+        ResponseCache.Flight follower = responseCache.join(KEY);
+
+        assertThat(leader.isLeader()).isTrue();
+        assertThat(follower.isLeader()).isFalse();
+
+        CachedResponse stored = responseCache.store(KEY, cacheControl("s-maxage=5"), BODY, false);
+        responseCache.land(leader, stored);
+
+        assertThat(responseCache.await(follower)).isSameAs(stored);
+        assertThat(responseCache.join(KEY).isLeader()).isTrue();
+    }
+
+    @Test
+    void collapsedRequestsGoToTheBackendWhenTheResponseIsNotShared() {
+        ResponseCache.Flight leader = responseCache.join(KEY);
+        ResponseCache.Flight follower = responseCache.join(KEY);
+
+        responseCache.land(leader, responseCache.store(KEY, cacheControl("private"), BODY, false));
+
+        assertThat(responseCache.await(follower)).isNull();
+    }
+
+    @Test
+    void forgetsAFlightThatNeverLands() throws InterruptedException {
+        responseCache.join(KEY);
+        ResponseCache.Flight follower = responseCache.join(KEY);
+
+        assertThat(responseCache.await(follower)).isNull();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ResponseCache.Flight next = responseCache.join(KEY);
+        while (!next.isLeader() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            next = responseCache.join(KEY);
+        }
+
+        assertThat(next.isLeader()).isTrue();
+    }
+
+    private static List<Map.Entry<String, String>> cacheControl(String value) {
+        return List.of(Map.entry("Cache-Control", value));
+    }
+}
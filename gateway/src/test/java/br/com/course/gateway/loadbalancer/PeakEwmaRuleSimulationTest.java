@@ -0,0 +1,219 @@
+package br.com.course.gateway.loadbalancer;
+
+import com.netflix.client.config.DefaultClientConfigImpl;
+import com.netflix.loadbalancer.AbstractLoadBalancerRule;
+import com.netflix.loadbalancer.BaseLoadBalancer;
+import com.netflix.loadbalancer.RoundRobinRule;
+import com.netflix.loadbalancer.Server;
+import com.netflix.loadbalancer.ServerStats;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Closed loop clients spread requests over local stub backends through a Ribbon load balancer, recording the
+ * ServerStats the way the Ribbon client does for Zuul. One backend is much slower than the others: round robin
+ * keeps sending it a third of the traffic while the PeakEwmaRule steers away from it. A backend added while the
+ * clients run only gets its full share once its slow start window has passed. Timing dependent, run it explicitly:
+ * <pre>
+ * mvn test -Dtest=PeakEwmaRuleSimulationTest -Dgateway.load-test=true
+ * </pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "gateway.load-test", matches = "true")
+class PeakEwmaRuleSimulationTest {
+    private static final int FAST_DELAY = 5;
+    private static final int SLOW_DELAY = 100;
+    private static final int CLIENTS = 16;
+    private static final Duration DURATION = Duration.ofSeconds(3);
+    private final List<HttpServer> backends = new ArrayList<>();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @AfterEach
+    void stopBackends() {
+        backends.forEach(backend -> backend.stop(0));
+    }
+
+    @Test
+    void steersAwayFromTheSlowInstance() throws Exception {
+        Server fast1 = startBackend(FAST_DELAY);
+        Server fast2 = startBackend(FAST_DELAY);
+        Server slow = startBackend(SLOW_DELAY);
+
+        Result roundRobin = simulate(new RoundRobinRule(), List.of(fast1, fast2, slow));
+        Result peakEwma = simulate(peakEwmaRule(0), List.of(fast1, fast2, slow));
+
+        log.warn("rule          requests   slow share     p99 ms");
+        log.warn("round robin {}", roundRobin.describe(slow));
+        log.warn("peak ewma   {}", peakEwma.describe(slow));
+
+        assertThat(roundRobin.share(slow)).isGreaterThan(0.25);
+        assertThat(peakEwma.share(slow)).isLessThan(0.05);
+        assertThat(peakEwma.requests).isGreaterThan(roundRobin.requests);
+        assertThat(peakEwma.p99()).isLessThan(roundRobin.p99());
+    }
+
+    @Test
+    void rampsUpANewInstance() throws Exception {
+        Server fast1 = startBackend(FAST_DELAY);
+        Server fast2 = startBackend(FAST_DELAY);
+        Server added = startBackend(FAST_DELAY);
+        long slowStartWindow = 2000;
+
+        BaseLoadBalancer loadBalancer = new BaseLoadBalancer();
+        loadBalancer.setRule(peakEwmaRule(slowStartWindow));
+        loadBalancer.addServers(List.of(fast1, fast2));
+
+        // the first two backends are past their slow start when the third one registers
+        run(loadBalancer, Duration.ofMillis(slowStartWindow + 200));
+        loadBalancer.addServer(added);
+
+        Result warmingUp = run(loadBalancer, Duration.ofMillis(slowStartWindow / 4));
+        run(loadBalancer, Duration.ofMillis(slowStartWindow));
+        Result warm = run(loadBalancer, Duration.ofMillis(slowStartWindow / 2));
+
+        log.warn("new instance share {} while warming up, {} once warm", warmingUp.share(added), warm.share(added));
+
+        assertThat(warmingUp.share(added)).isLessThan(0.15);
+        assertThat(warm.share(added)).isGreaterThan(0.2);
+    }
+
+    private PeakEwmaRule peakEwmaRule(long slowStartWindow) {
+        DefaultClientConfigImpl config = DefaultClientConfigImpl.getClientConfigWithDefaultValues("simulation");
+        config.set(PeakEwmaRule.DECAY_TIME, 1000);
+        config.set(PeakEwmaRule.INITIAL_LATENCY, FAST_DELAY);
+        config.set(PeakEwmaRule.SLOW_START_WINDOW, (int) slowStartWindow);
+
+        PeakEwmaRule rule = new PeakEwmaRule();
+        rule.initWithNiwsConfig(config);
+        return rule;
+    }
+
+    private Server startBackend(int delay) throws IOException {
+        HttpServer backend = HttpServer.create(new InetSocketAddress("localhost", 0), 100);
+        backend.setExecutor(Executors.newFixedThreadPool(CLIENTS));
+        backend.createContext("/", exchange -> {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, 2);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write("ok".getBytes(StandardCharsets.US_ASCII));
+            }
+        });
+        backend.start();
+        backends.add(backend);
+        return new Server("localhost", backend.getAddress().getPort());
+    }
+
+    private Result simulate(AbstractLoadBalancerRule rule, List<Server> servers) throws Exception {
+        BaseLoadBalancer loadBalancer = new BaseLoadBalancer();
+        loadBalancer.setRule(rule);
+        loadBalancer.addServers(servers);
+
+        run(loadBalancer, Duration.ofSeconds(1));
+        return run(loadBalancer, DURATION);
+    }
+
+    /**
+     * Closed loop: every client sends its next request as soon as the previous one completed.
+     */
+    private Result run(BaseLoadBalancer loadBalancer, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        Map<String, AtomicLong> perServer = new ConcurrentHashMap<>();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+
+        try {
+            List<Future<long[]>> futures = new ArrayList<>(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[256];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        Server server = loadBalancer.chooseServer(null);
+                        ServerStats stats = loadBalancer.getLoadBalancerStats().getSingleServerStat(server);
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://" + server.getId() + "/")).GET().build();
+
+                        stats.incrementActiveRequestsCount();
+                        long start = System.nanoTime();
+                        try {
+                            client.send(request, HttpResponse.BodyHandlers.discarding());
+                        } finally {
+                            long latency = System.nanoTime() - start;
+                            stats.decrementActiveRequestsCount();
+                            stats.incrementNumRequests();
+                            stats.noteResponseTime(TimeUnit.NANOSECONDS.toMillis(latency));
+                            perServer.computeIfAbsent(server.getId(), id -> new AtomicLong()).incrementAndGet();
+                            if (count == latencies.length)
+                                latencies = Arrays.copyOf(latencies, count * 2);
+                            latencies[count++] = latency;
+                        }
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+
+            List<long[]> results = new ArrayList<>(CLIENTS);
+            for (Future<long[]> future : futures)
+                results.add(future.get());
+            return new Result(perServer, results);
+        } finally {
+            clients.shutdownNow();
+            clients.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static final class Result {
+        private final Map<String, AtomicLong> perServer;
+        private final long[] latencies;
+        private final long requests;
+
+        private Result(Map<String, AtomicLong> perServer, List<long[]> clients) {
+            this.perServer = perServer;
+            this.latencies = clients.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            this.requests = latencies.length;
+        }
+
+        private double share(Server server) {
+            AtomicLong count = perServer.get(server.getId());
+            return count == null || requests == 0 ? 0 : (double) count.get() / requests;
+        }
+
+        private double p99() {
+            return latencies.length == 0 ? 0 : latencies[(int) (latencies.length * 0.99)] / 1e6;
+        }
+
+        private String describe(Server slow) {
+            return String.format("%10d %12.3f %10.1f", requests, share(slow), p99());
+        }
+    }
+}
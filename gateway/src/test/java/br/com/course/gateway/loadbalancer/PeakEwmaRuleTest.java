@@ -0,0 +1,141 @@
+package br.com.course.gateway.loadbalancer;
+
+import com.netflix.client.config.DefaultClientConfigImpl;
+import com.netflix.loadbalancer.BaseLoadBalancer;
+import com.netflix.loadbalancer.Server;
+import com.netflix.loadbalancer.ServerStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Costs computed at explicit instants from ServerStats fed by hand, so the EWMA folding and the slow start do not
+ * depend on the clock nor on real backends.
+ */
+class PeakEwmaRuleTest {
+    private static final long START = TimeUnit.SECONDS.toNanos(1000);
+    private static final int DECAY_TIME = 1000;
+    private static final int INITIAL_LATENCY = 50;
+    private final Server server = new Server("localhost", 8080);
+    private final BaseLoadBalancer loadBalancer = new BaseLoadBalancer();
+
+    @Test
+    void assumesTheInitialLatencyWithoutSamples() {
+        PeakEwmaRule rule = peakEwmaRule(0);
+        loadBalancer.addServers(List.of(server));
+
+        assertThat(rule.cost(loadBalancer, server, START)).isEqualTo(INITIAL_LATENCY);
+    }
+
+    @Test
+    void multipliesTheLatencyByTheInFlightRequestsPlusOne() {
+        PeakEwmaRule rule = peakEwmaRule(0);
+        loadBalancer.addServers(List.of(server));
+        stats().incrementActiveRequestsCount();
+        stats().incrementActiveRequestsCount();
+
+        assertThat(rule.cost(loadBalancer, server, START)).isEqualTo(3.0 * INITIAL_LATENCY);
+    }
+
+    @Test
+    void startsFromTheFirstMeanLatency() {
+        PeakEwmaRule rule = peakEwmaRule(0);
+        loadBalancer.addServers(List.of(server));
+        complete(100, 200, 300);
+
+        assertThat(rule.cost(loadBalancer, server, START)).isCloseTo(200, within(1e-9));
+    }
+
+    @Test
+    void replacesTheAverageWithAHigherLatencyAtOnce() {
+        PeakEwmaRule rule = peakEwmaRule(0);
+        loadBalancer.addServers(List.of(server));
+        complete(100);
+        rule.cost(loadBalancer, server, START);
+
+        complete(400);
+
+        assertThat(rule.cost(loadBalancer, server, START + millis(1))).isCloseTo(400, within(1e-9));
+    }
+
+    @Test
+    void decaysALowerLatencyIntoTheAverage() {
+        PeakEwmaRule rule = peakEwmaRule(0);
+        loadBalancer.addServers(List.of(server));
+        complete(100);
+        rule.cost(loadBalancer, server, START);
+
+        complete(20);
+
+        double weight = Math.exp(-1);
+        assertThat(rule.cost(loadBalancer, server, START + millis(DECAY_TIME)))
+                .isCloseTo(100 * weight + 20 * (1 - weight), within(1e-9));
+    }
+
+    @Test
+    void decaysTheAverageOfAnIdleServerTowardsZero() {
+        PeakEwmaRule rule = peakEwmaRule(0);
+        loadBalancer.addServers(List.of(server));
+        complete(100);
+        rule.cost(loadBalancer, server, START);
+
+        assertThat(rule.cost(loadBalancer, server, START + millis(2 * DECAY_TIME)))
+                .isCloseTo(100 * Math.exp(-2), within(1e-9));
+    }
+
+    @Test
+    void raisesTheCostOfANewServerDuringItsSlowStart() {
+        PeakEwmaRule rule = peakEwmaRule(1000);
+        loadBalancer.addServers(List.of(server));
+
+        assertThat(rule.cost(loadBalancer, server, START)).isCloseTo(INITIAL_LATENCY / 0.1, within(1e-9));
+        assertThat(rule.cost(loadBalancer, server, START + millis(50))).isCloseTo(INITIAL_LATENCY / 0.1, within(1e-9));
+        assertThat(rule.cost(loadBalancer, server, START + millis(500))).isCloseTo(INITIAL_LATENCY / 0.5, within(1e-9));
+        assertThat(rule.cost(loadBalancer, server, START + millis(1000))).isEqualTo(INITIAL_LATENCY);
+        assertThat(rule.cost(loadBalancer, server, START + millis(5000))).isEqualTo(INITIAL_LATENCY);
+    }
+
+    @Test
+    void prefersTheCheaperServer() {
+        PeakEwmaRule rule = peakEwmaRule(0);
+        Server slow = new Server("localhost", 8081);
+        loadBalancer.setRule(rule);
+        loadBalancer.addServers(List.of(server, slow));
+        complete(10);
+        loadBalancer.getLoadBalancerStats().getSingleServerStat(slow).incrementNumRequests();
+        loadBalancer.getLoadBalancerStats().getSingleServerStat(slow).noteResponseTime(500);
+
+        for (int i = 0; i < 20; i++)
+            assertThat(rule.choose(null)).isEqualTo(server);
+    }
+
+    private PeakEwmaRule peakEwmaRule(int slowStartWindow) {
+        DefaultClientConfigImpl config = DefaultClientConfigImpl.getClientConfigWithDefaultValues("peak-ewma-test");
+        config.set(PeakEwmaRule.DECAY_TIME, DECAY_TIME);
+        config.set(PeakEwmaRule.INITIAL_LATENCY, INITIAL_LATENCY);
+        config.set(PeakEwmaRule.SLOW_START_WINDOW, slowStartWindow);
+
+        PeakEwmaRule rule = new PeakEwmaRule();
+        rule.initWithNiwsConfig(config);
+        return rule;
+    }
+
+    private ServerStats stats() {
+        return loadBalancer.getLoadBalancerStats().getSingleServerStat(server);
+    }
+
+    private void complete(long... latencies) {
+        for (long latency : latencies) {
+            stats().incrementNumRequests();
+            stats().noteResponseTime(latency);
+        }
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
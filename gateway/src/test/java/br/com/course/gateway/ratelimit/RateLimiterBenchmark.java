@@ -0,0 +1,61 @@
+package br.com.course.gateway.ratelimit;
+
+import br.com.course.gateway.property.GatewayConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the rate limiter on the request path: one client hammering its bucket, and requests spread over
+ * {@code clients} distinct subjects, with one and eight threads. The limits are high enough that every request
+ * is let through, so only the bucket bookkeeping is measured. It lives in the gateway tests since the gateway is
+ * not a library the benchmarks module could depend on. Run it with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main RateLimiterBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+    @Param({"10000", "50000"})
+    private int clients;
+    private String[] subjects;
+    private RateLimiter rateLimiter;
+
+    @Setup
+    public void setUp() {
+        GatewayConfiguration configuration = new GatewayConfiguration();
+        configuration.getRateLimit().getDefaultLimit().setCapacity(1_000_000);
+        configuration.getRateLimit().getDefaultLimit().setRate(1_000_000_000);
+
+        rateLimiter = new RateLimiter(configuration, new SimpleMeterRegistry());
+        subjects = new String[clients];
+        for (int i = 0; i < clients; i++)
+            subjects[i] = "user" + i;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long singleClient() {
+        return rateLimiter.acquire("course", "user0", "10.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long manyClients() {
+        return rateLimiter.acquire("course", subjects[ThreadLocalRandom.current().nextInt(clients)], "10.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long manyClientsContended() {
+        return rateLimiter.acquire("course", subjects[ThreadLocalRandom.current().nextInt(clients)], "10.0.0.1");
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.course.gateway.ratelimit;
+
+import br.com.course.gateway.property.GatewayConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest {
+    private static final long START = TimeUnit.SECONDS.toNanos(1000);
+    private final GatewayConfiguration configuration = new GatewayConfiguration();
+
+    @Test
+    void letsABurstOfCapacityRequestsThrough() {
+        RateLimiter rateLimiter = rateLimiter(3, 1);
+
+        for (int i = 0; i < 3; i++)
+            assertThat(rateLimiter.acquire("course", "alice", "10.0.0.1", START)).isZero();
+
+        assertThat(rateLimiter.acquire("course", "alice", "10.0.0.1", START)).isEqualTo(1);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        RateLimiter rateLimiter = rateLimiter(2, 2);
+        rateLimiter.acquire("course", "alice", "10.0.0.1", START);
+        rateLimiter.acquire("course", "alice", "10.0.0.1", START);
+
+        assertThat(rateLimiter.acquire("course", "alice", "10.0.0.1", START + millis(499))).isPositive();
+        assertThat(rateLimiter.acquire("course", "alice", "10.0.0.1", START + millis(500))).isZero();
+        assertThat(rateLimiter.acquire("course", "alice", "10.0.0.1", START + millis(500))).isPositive();
+
+        // an idle bucket refills up to its capacity, not beyond
+        assertThat(rateLimiter.acquire("course", "alice", "10.0.0.1", START + millis(60_000))).isZero();
+        assertThat(rateLimiter.acquire("course", "alice", "10.0.0.1", START + millis(60_000))).isZero();
+        assertThat(rateLimiter.acquire("course", "alice", "10.0.0.1", START + millis(60_000))).isPositive();
+    }
+
+    @Test
+    void roundsTheRetryAfterUpToWholeSeconds() {
+        RateLimiter rateLimiter = rateLimiter(1, 0.4);
+        rateLimiter.acquire("course", "alice", "10.0.0.1", START);
+
+        assertThat(rateLimiter.acquire("course", "alice", "10.0.0.1", START)).isEqualTo(3);
+        assertThat(rateLimiter.acquire("course", "alice", "10.0.0.1", START + millis(1500))).isEqualTo(1);
+        assertThat(rateLimiter.acquire("course", "alice", "10.0.0.1", START + millis(2499))).isEqualTo(1);
+        assertThat(rateLimiter.acquire("course", "alice", "10.0.0.1", START + millis(2500))).isZero();
+    }
+
+    @Test
+    void asksToWaitAtLeastOneSecond() {
+        RateLimiter rateLimiter = rateLimiter(1, 100);
+        rateLimiter.acquire("course", "alice", "10.0.0.1", START);
+
+        assertThat(rateLimiter.acquire("course", "alice", "10.0.0.1", START)).isEqualTo(1);
+    }
+
+    @Test
+    void keepsOneBucketPerRouteAndClient() {
+        RateLimiter rateLimiter = rateLimiter(1, 1);
+        rateLimiter.acquire("course", "alice", "10.0.0.1", START);
+
+        assertThat(rateLimiter.acquire("course", "alice", "10.0.0.2", START)).isPositive();
+        assertThat(rateLimiter.acquire("course", "bob", "10.0.0.1", START)).isZero();
+        assertThat(rateLimiter.acquire("auth", "alice", "10.0.0.1", START)).isZero();
+        assertThat(rateLimiter.acquire("course", null, "10.0.0.1", START)).isZero();
+        assertThat(rateLimiter.acquire("course", null, "10.0.0.1", START)).isPositive();
+    }
+
+    @Test
+    void appliesTheLimitOfTheRoute() {
+        GatewayConfiguration.Limit auth = new GatewayConfiguration.Limit();
+        auth.setCapacity(1);
+        auth.setRate(1);
+        configuration.getRateLimit().getRoutes().put("auth", auth);
+        RateLimiter rateLimiter = rateLimiter(5, 1);
+
+        assertThat(rateLimiter.acquire("auth", null, "10.0.0.1", START)).isZero();
+        assertThat(rateLimiter.acquire("auth", null, "10.0.0.1", START)).isPositive();
+        assertThat(rateLimiter.acquire("course", null, "10.0.0.1", START)).isZero();
+        assertThat(rateLimiter.acquire("course", null, "10.0.0.1", START)).isZero();
+    }
+
+    @Test
+    void rejectsALimitWithoutRate() {
+        assertThatThrownBy(() -> rateLimiter(10, 0))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("rate");
+        assertThatThrownBy(() -> rateLimiter(10, -1))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> rateLimiter(10, Double.NaN))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsALimitWithoutCapacity() {
+        assertThatThrownBy(() -> rateLimiter(0, 10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("capacity");
+    }
+
+    @Test
+    void rejectsAnInvalidRouteLimit() {
+        configuration.getRateLimit().getRoutes().put("auth", new GatewayConfiguration.Limit());
+        configuration.getRateLimit().getRoutes().get("auth").setRate(0);
+
+        assertThatThrownBy(() -> rateLimiter(10, 10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("auth");
+    }
+
+    private RateLimiter rateLimiter(int capacity, double rate) {
+        configuration.getRateLimit().getDefaultLimit().setCapacity(capacity);
+        configuration.getRateLimit().getDefaultLimit().setRate(rate);
+        return new RateLimiter(configuration, new SimpleMeterRegistry());
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
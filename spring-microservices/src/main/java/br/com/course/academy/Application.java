@@ -1,13 +1,18 @@
 package br.com.course.academy;
 
+import br.com.course.core.property.JWTConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
+@EnableConfigurationProperties(value = JWTConfiguration.class)
 @EntityScan({"br.com.course.core.model"})
 @EnableJpaRepositories({"br.com.course.core.repository"})
+@ComponentScan({"br.com.course.academy", "br.com.course.core.config", "br.com.course.token.converter"})
 public class Application {
 
     public static void main(String[] args) {
@@ -0,0 +1,24 @@
+package br.com.course.academy.config;
+
+import br.com.course.core.json.PageJsonModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Modules picked up by the auto configured ObjectMapper: Afterburner replaces the reflective getter calls with
+ * generated accessors, PageJsonModule writes pages without the pageable and sort wrappers.
+ */
+@Configuration
+public class JsonConfig {
+
+    @Bean
+    public AfterburnerModule afterburnerModule() {
+        return new AfterburnerModule();
+    }
+
+    @Bean
+    public PageJsonModule pageJsonModule() {
+        return new PageJsonModule();
+    }
+}
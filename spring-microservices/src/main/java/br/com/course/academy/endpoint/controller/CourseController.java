@@ -1,17 +1,39 @@
 package br.com.course.academy.endpoint.controller;
 
+import br.com.course.academy.endpoint.dto.CursorPage;
+import br.com.course.academy.endpoint.dto.IngestResult;
+import br.com.course.academy.endpoint.service.CourseCatalogVersion;
+import br.com.course.academy.endpoint.service.CourseExportService;
+import br.com.course.academy.endpoint.service.CourseIngestService;
+import br.com.course.academy.endpoint.service.CourseSearchService;
 import br.com.course.academy.endpoint.service.CourseService;
+import br.com.course.academy.property.CourseConfiguration;
 import br.com.course.core.model.Course;
+import br.com.course.core.repository.projection.CourseSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("v1/admin/course")
@@ -19,9 +41,83 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class CourseController {
     private final CourseService service;
+    private final CourseExportService exportService;
+    private final CourseIngestService ingestService;
+    private final CourseSearchService searchService;
+    private final CourseCatalogVersion catalogVersion;
+    private final CourseConfiguration courseConfiguration;
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Iterable<Course>> listAll(Pageable pageable) {
-        return new ResponseEntity<>(service.listAll(pageable), HttpStatus.OK);
+    public ResponseEntity<Iterable<Course>> listAll(Pageable pageable, WebRequest webRequest) {
+        return conditional(webRequest, () -> service.listAll(pageable));
+    }
+
+    @GetMapping(path = "summary", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Page<CourseSummary>> listSummaries(Pageable pageable, WebRequest webRequest) {
+        return conditional(webRequest, () -> service.listSummaries(pageable));
+    }
+
+    @GetMapping(path = "slice", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Slice<Course>> listSlice(Pageable pageable, WebRequest webRequest) {
+        return conditional(webRequest, () -> service.listSlice(pageable));
+    }
+
+    @GetMapping(path = "cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CursorPage<Course>> listByCursor(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "id") String sort,
+                                                           @RequestParam(defaultValue = "20") int size,
+                                                           WebRequest webRequest) {
+        return conditional(webRequest, () -> service.listAfter(cursor, sort, size));
+    }
+
+    @GetMapping(path = "search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<Course>> search(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        return new ResponseEntity<>(searchService.search(q, limit), HttpStatus.OK);
+    }
+
+    /**
+     * Streams the catalog from an async task of its own, the export being the only request allowed to run for
+     * {@code course.config.export.timeout}.
+     */
+    @GetMapping(path = "export", produces = "application/x-ndjson")
+    public WebAsyncTask<Void> export(HttpServletResponse response) {
+        response.setContentType("application/x-ndjson");
+
+        return new WebAsyncTask<>(courseConfiguration.getExport().getTimeout(), () -> {
+            exportService.export(response.getOutputStream());
+            return null;
+        });
+    }
+
+    @PostMapping(path = "bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IngestResult> bulkCreate(InputStream body) throws IOException {
+        return new ResponseEntity<>(ingestService.ingest(body), HttpStatus.CREATED);
+    }
+
+    /**
+     * Answers with 304 when the client already holds the current catalog version, before the service is called.
+     * The version is read before the listing, so a write racing with it only costs the client one more download.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest webRequest, Supplier<T> body) {
+        String eTag = catalogVersion.getETag();
+        long lastModified = catalogVersion.getLastModified();
+
+        if (webRequest.checkNotModified(eTag, lastModified))
+            return null;
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl())
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .body(body.get());
+    }
+
+    private CacheControl cacheControl() {
+        int sharedMaxAge = courseConfiguration.getHttpCache().getSharedMaxAge();
+
+        if (sharedMaxAge <= 0)
+            return CacheControl.noCache();
+
+        return CacheControl.maxAge(0, TimeUnit.SECONDS).sMaxAge(sharedMaxAge, TimeUnit.SECONDS);
     }
 }
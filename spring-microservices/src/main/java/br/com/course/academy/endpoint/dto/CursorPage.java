@@ -0,0 +1,19 @@
+package br.com.course.academy.endpoint.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * One page of a keyset listing. {@code next} is the opaque cursor of the following page, null on the last one.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CursorPage<T> {
+    private final List<T> content;
+    private final int size;
+    private final String next;
+}
@@ -0,0 +1,18 @@
+package br.com.course.academy.endpoint.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Outcome of a bulk ingestion: courses committed, batches used and the overall throughput.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class IngestResult {
+    private final long created;
+    private final int batches;
+    private final long elapsedMillis;
+    private final double coursesPerSecond;
+}
@@ -0,0 +1,118 @@
+package br.com.course.academy.endpoint.service;
+
+import br.com.course.academy.property.CourseConfiguration;
+import br.com.course.core.repository.CourseRepository;
+import br.com.course.core.repository.projection.CourseCatalogState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Version of the course catalog, the source of the listing ETags. It is derived from the count and the highest id
+ * of the courses in the database, so every instance computes the same ETag and notices the inserts and deletes
+ * made by the others or directly in the database. Titles edited in place without going through the service are
+ * not noticed, the service itself having no such write.
+ * <p>
+ * The state is read at most once every {@code versionTtl} milliseconds, which bounds how long a listing may be
+ * answered with 304 after a change; concurrent requests keep using the previous version while one of them reads
+ * it. Writes going through this instance invalidate it once their transaction commits.
+ */
+@Component
+@Slf4j
+public class CourseCatalogVersion {
+    private final CourseRepository repository;
+    private final long ttl;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Version current;
+
+    @Autowired
+    public CourseCatalogVersion(CourseRepository repository, CourseConfiguration courseConfiguration) {
+        this.repository = repository;
+        this.ttl = TimeUnit.MILLISECONDS.toNanos(courseConfiguration.getHttpCache().getVersionTtl());
+    }
+
+    public String getETag() {
+        return version().eTag;
+    }
+
+    public long getLastModified() {
+        return version().lastModified;
+    }
+
+    /**
+     * Invalidates the version after the current transaction commits, or right away outside of a transaction.
+     */
+    public void changed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    private Version version() {
+        Version version = current;
+
+        if (version != null && System.nanoTime() - version.readAt < ttl)
+            return version;
+
+        if (version != null && !refreshLock.tryLock())
+            return version;
+        if (version == null)
+            refreshLock.lock();
+
+        try {
+            Version latest = current;
+            if (latest != null && latest != version && System.nanoTime() - latest.readAt < ttl)
+                return latest;
+
+            current = read(latest);
+            return current;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Version read(Version previous) {
+        CourseCatalogState state = repository.findCatalogState();
+        String eTag = "\"" + state.getCount() + "-" + (state.getMaxId() == null ? 0 : state.getMaxId()) + "\"";
+
+        if (previous != null && previous.eTag.equals(eTag))
+            return new Version(eTag, previous.lastModified);
+
+        log.info("Course catalog version {}", eTag);
+        return new Version(eTag, System.currentTimeMillis());
+    }
+
+    private void invalidate() {
+        Version version = current;
+        if (version != null)
+            current = new Version(version.eTag, version.lastModified, System.nanoTime() - ttl);
+    }
+
+    private static final class Version {
+        private final String eTag;
+        private final long lastModified;
+        private final long readAt;
+
+        private Version(String eTag, long lastModified) {
+            this(eTag, lastModified, System.nanoTime());
+        }
+
+        private Version(String eTag, long lastModified, long readAt) {
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.readAt = readAt;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.course.academy.endpoint.service;
+
+import br.com.course.core.model.Course;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a keyset listing: the sort key and the values of the last course returned. Clients only see the
+ * base64url encoded form and send it back as is.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class CourseCursor {
+    private final SortKey sortKey;
+    private final Long id;
+    private final String title;
+
+    public enum SortKey {
+        ID, TITLE;
+
+        public static SortKey of(String name) {
+            for (SortKey sortKey : values())
+                if (sortKey.name().equalsIgnoreCase(name))
+                    return sortKey;
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format("Unsupported sort '%s', use id or title", name));
+        }
+    }
+
+    public static CourseCursor after(SortKey sortKey, Course course) {
+        return new CourseCursor(sortKey, course.getId(), sortKey == SortKey.TITLE ? course.getTitle() : null);
+    }
+
+    public String encode() {
+        String value = sortKey == SortKey.TITLE ? "t:" + id + ":" + title : "i:" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CourseCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            if (value.startsWith("i:"))
+                return new CourseCursor(SortKey.ID, Long.valueOf(value.substring(2)), null);
+
+            if (value.startsWith("t:")) {
+                int separator = value.indexOf(':', 2);
+                if (separator > 0)
+                    return new CourseCursor(SortKey.TITLE, Long.valueOf(value.substring(2, separator)), value.substring(separator + 1));
+            }
+        } catch (IllegalArgumentException e) {
+            // falls through to the bad request below, NumberFormatException included
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+}
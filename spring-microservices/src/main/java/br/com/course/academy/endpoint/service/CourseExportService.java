@@ -0,0 +1,90 @@
+package br.com.course.academy.endpoint.service;
+
+import br.com.course.academy.property.CourseConfiguration;
+import br.com.course.core.model.Course;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the whole catalog as newline delimited JSON. Courses are read through a forward only cursor in a read
+ * only transaction and detached as they are written, so memory does not depend on the table size. Writes block
+ * while the client is slow to read, and a client going away fails the next write, which ends the transaction
+ * and closes the cursor.
+ * <p>
+ * With {@code streamRows} the MySQL driver hands the rows over one at a time instead of buffering the whole
+ * result, a setting of this query only: the other queries keep the default fetching of the shared datasource.
+ */
+@Service
+@Slf4j
+public class CourseExportService {
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter writer;
+    private final CourseConfiguration courseConfiguration;
+
+    @Autowired
+    public CourseExportService(EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               CourseConfiguration courseConfiguration) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.writer = objectMapper.writerFor(Course.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.courseConfiguration = courseConfiguration;
+    }
+
+    public void export(OutputStream outputStream) {
+        CourseConfiguration.Export export = courseConfiguration.getExport();
+        int fetchSize = export.getFetchSize();
+
+        log.info("Exporting the course catalog, fetch size {}", fetchSize);
+
+        long exported = transactionTemplate.execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+
+            try (ScrollableResults results = session.createQuery("select c from Course c order by c.id", Course.class)
+                    .setFetchSize(export.isStreamRows() ? Integer.MIN_VALUE : fetchSize)
+                    .setReadOnly(true)
+                    .setCacheMode(CacheMode.IGNORE)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+                 JsonGenerator generator = writer.getFactory().createGenerator(outputStream)) {
+
+                // every line ends with its own newline, without the space Jackson puts between root values
+                generator.setRootValueSeparator(null);
+
+                long count = 0;
+                while (results.next()) {
+                    writer.writeValue(generator, results.get(0));
+                    generator.writeRaw('\n');
+
+                    if (++count % fetchSize == 0) {
+                        generator.flush();
+                        session.clear();
+                    }
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        log.info("Course catalog exported, {} course(s)", exported);
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.course.academy.endpoint.service;
+
+import br.com.course.academy.endpoint.dto.IngestResult;
+import br.com.course.academy.property.CourseConfiguration;
+import br.com.course.core.model.Course;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts courses read one by one from a JSON array or newline delimited JSON body. Every {@code batchSize}
+ * courses are persisted, flushed as a single JDBC batch and committed, so memory is bounded by the batch and a
+ * failure only loses the batch being written. The batches committed before a failure stay, the error tells how
+ * many courses they held. The inserted courses bypass the second level cache so a large load does not evict the
+ * hot entries.
+ */
+@Service
+@Slf4j
+public class CourseIngestService {
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader reader;
+    private final CourseConfiguration courseConfiguration;
+    private final CourseCatalogVersion catalogVersion;
+    private final CourseSearchService searchService;
+    private final Timer batchTimer;
+    private final Counter ingested;
+
+    @Autowired
+    public CourseIngestService(EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               CourseConfiguration courseConfiguration,
+                               CourseCatalogVersion catalogVersion,
+                               CourseSearchService searchService,
+                               MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reader = objectMapper.readerFor(Course.class);
+        this.courseConfiguration = courseConfiguration;
+        this.catalogVersion = catalogVersion;
+        this.searchService = searchService;
+        this.batchTimer = Timer.builder("course.ingest.batch")
+                .description("Time to insert and commit one batch of courses")
+                .register(meterRegistry);
+        this.ingested = meterRegistry.counter("course.ingest.courses");
+    }
+
+    public IngestResult ingest(InputStream inputStream) {
+        int batchSize = courseConfiguration.getIngest().getBatchSize();
+        List<Course> batch = new ArrayList<>(batchSize);
+        long created = 0;
+        int batches = 0;
+        long start = System.nanoTime();
+
+        log.info("Ingesting courses, batch size {}", batchSize);
+
+        try (MappingIterator<Course> courses = reader.readValues(inputStream)) {
+            while (courses.hasNextValue()) {
+                Course course = courses.nextValue();
+                course.setId(null);
+                batch.add(course);
+
+                if (batch.size() == batchSize) {
+                    created += persist(batch, batches + 1);
+                    batches++;
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                created += persist(batch, batches + 1);
+                batches++;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Ingestion failed after {} course(s) committed in {} batch(es)", created, batches, e);
+            HttpStatus status = e instanceof IOException ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR;
+            throw new ResponseStatusException(status, String.format("Ingestion failed after %d course(s) committed in %d batch(es), " +
+                    "the following ones were not inserted: %s", created, batches, e.getMessage()), e);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        double coursesPerSecond = elapsed == 0 ? 0 : created * 1e9 / elapsed;
+
+        log.info("{} course(s) ingested in {} batch(es), {} courses/s", created, batches, String.format("%.0f", coursesPerSecond));
+
+        return new IngestResult(created, batches, TimeUnit.NANOSECONDS.toMillis(elapsed), coursesPerSecond);
+    }
+
+    private int persist(List<Course> batch, int number) {
+        long start = System.nanoTime();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(batch.size());
+            session.setCacheMode(CacheMode.IGNORE);
+            batch.forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.clear();
+            catalogVersion.changed();
+        });
+
+        searchService.indexed(batch);
+
+        long elapsed = System.nanoTime() - start;
+        batchTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        ingested.increment(batch.size());
+
+        log.info("Batch {} of {} course(s) committed in {} ms", number, batch.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+
+        return batch.size();
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.course.academy.endpoint.service;
+
+import br.com.course.academy.property.CourseConfiguration;
+import br.com.course.core.model.Course;
+import br.com.course.core.repository.CourseRepository;
+import br.com.course.core.search.InvertedIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Title search over an in memory inverted index. The index is loaded in the background once the application is
+ * ready, searches are answered with 503 until then, and a load failing because the database cannot be reached is
+ * retried with an exponential backoff.
+ * <p>
+ * Once loaded, the index catches up every {@code refreshInterval} milliseconds with the courses whose id is above
+ * the last one it read, whichever instance or tool inserted them; the batches ingested by this instance are also
+ * added right after their commit. Courses committed with an id below one already read (several instances
+ * ingesting at once) are only found by the catch-up if it had not gone past them yet, and edited titles are only
+ * reindexed on restart. Deleted courses are harmless, the courses being loaded by primary key after the search.
+ */
+@Service
+@Slf4j
+public class CourseSearchService {
+    private final CourseRepository repository;
+    private final CourseConfiguration courseConfiguration;
+    private final InvertedIndex index = new InvertedIndex();
+    private volatile boolean ready;
+    private ScheduledExecutorService indexExecutor;
+    private long lastIndexedId;
+    private long retryDelay;
+
+    @Autowired
+    public CourseSearchService(CourseRepository repository, CourseConfiguration courseConfiguration) {
+        this.repository = repository;
+        this.courseConfiguration = courseConfiguration;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        indexExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "course-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        retryDelay = courseConfiguration.getSearch().getRetryDelay();
+        indexExecutor.execute(this::loadIndex);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (indexExecutor != null)
+            indexExecutor.shutdownNow();
+    }
+
+    public List<Course> search(String query, int limit) {
+        if (!ready)
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The course search index is still loading");
+
+        int maxResults = Math.max(1, Math.min(limit, courseConfiguration.getSearch().getMaxResults()));
+        long[] ids = index.search(query, maxResults);
+
+        log.info("Search for '{}' matched {} course(s)", query, ids.length);
+
+        if (ids.length == 0)
+            return List.of();
+
+        List<Course> courses = new ArrayList<>(maxResults);
+        repository.findAllById(() -> Arrays.stream(ids).boxed().iterator()).forEach(courses::add);
+        courses.sort(Comparator.comparing(Course::getId));
+
+        return courses;
+    }
+
+    public void indexed(Iterable<Course> courses) {
+        for (Course course : courses)
+            index.add(course.getId(), course.getTitle());
+    }
+
+    private void loadIndex() {
+        long start = System.nanoTime();
+
+        try {
+            long count = catchUp();
+            ready = true;
+            log.info("Course search index loaded, {} course(s) and {} term(s) in {} ms, {} bytes of postings", count,
+                    index.getTermCount(), (System.nanoTime() - start) / 1_000_000, index.getPostingBytes());
+
+            long refreshInterval = courseConfiguration.getSearch().getRefreshInterval();
+            if (refreshInterval > 0)
+                indexExecutor.scheduleWithFixedDelay(this::refresh, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            log.error("Unable to load the course search index, retrying in {} ms", retryDelay, e);
+            indexExecutor.schedule(this::loadIndex, retryDelay, TimeUnit.MILLISECONDS);
+            retryDelay = Math.min(retryDelay * 2, courseConfiguration.getSearch().getMaxRetryDelay());
+        }
+    }
+
+    private void refresh() {
+        try {
+            long count = catchUp();
+            if (count > 0)
+                log.info("Course search index caught up with {} course(s), {} term(s)", count, index.getTermCount());
+        } catch (RuntimeException e) {
+            log.warn("Unable to catch up the course search index '{}'", e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the courses with an id above the last one read, page by page. A page failing halfway is read again on
+     * the next attempt, adding a course twice being a no-op.
+     */
+    private long catchUp() {
+        Pageable page = PageRequest.of(0, courseConfiguration.getSearch().getLoadPageSize());
+        long count = 0;
+
+        List<Course> courses = repository.findByIdGreaterThanOrderByIdAsc(lastIndexedId, page);
+        while (!courses.isEmpty()) {
+            indexed(courses);
+            count += courses.size();
+            lastIndexedId = courses.get(courses.size() - 1).getId();
+            courses = repository.findByIdGreaterThanOrderByIdAsc(lastIndexedId, page);
+        }
+        return count;
+    }
+}
@@ -1,23 +1,90 @@
 package br.com.course.academy.endpoint.service;
 
+import br.com.course.academy.endpoint.dto.CursorPage;
+import br.com.course.academy.property.CourseConfiguration;
 import br.com.course.core.model.Course;
 import br.com.course.core.repository.CourseRepository;
-import lombok.RequiredArgsConstructor;
+import br.com.course.core.repository.projection.CourseSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 
+
+/**
+ * Course reads run in read only transactions, Hibernate then loads the entities read only and keeps no snapshot
+ * of them for dirty checking.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@Transactional(readOnly = true)
 public class CourseService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
 
     private final CourseRepository repository;
+    private final CourseConfiguration courseConfiguration;
+    private final SingleFlight<Pageable, Page<Course>> listAllFlight;
+
+    @Autowired
+    public CourseService(CourseRepository repository, CourseConfiguration courseConfiguration, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.courseConfiguration = courseConfiguration;
+        this.listAllFlight = new SingleFlight<>("course.list", courseConfiguration.getCoalescing().getTimeout(), meterRegistry);
+    }
 
+    /**
+     * Concurrent calls for the same page, size and sort share one query. It runs outside of a service transaction
+     * so the waiting callers hold no connection, the repository opens its own.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Iterable<Course> listAll(Pageable pageable) {
         log.info("List All courses");
-        return repository.findAll(pageable);
+        if (!courseConfiguration.getCoalescing().isEnabled())
+            return repository.findAll(pageable);
+        return listAllFlight.execute(pageable, () -> repository.findAll(pageable));
+    }
+
+    public Page<CourseSummary> listSummaries(Pageable pageable) {
+        log.info("List course summaries {}", pageable);
+        return repository.findAllSummaries(pageable);
+    }
+
+    public Slice<Course> listSlice(Pageable pageable) {
+        log.info("List courses slice {}", pageable);
+        return repository.findSliceBy(pageable);
+    }
+
+    /**
+     * Lists the courses following the cursor, or the first ones when there is none. One extra row is read to
+     * know whether a next page exists, so no count query runs and the cost does not depend on the depth.
+     */
+    public CursorPage<Course> listAfter(String cursor, String sort, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        CourseCursor after = cursor == null || cursor.isEmpty() ? null : CourseCursor.decode(cursor);
+        CourseCursor.SortKey sortKey = after == null ? CourseCursor.SortKey.of(sort) : after.getSortKey();
+
+        log.info("List courses by {} after cursor '{}'", sortKey, cursor);
+
+        List<Course> courses;
+        if (sortKey == CourseCursor.SortKey.TITLE)
+            courses = after == null ? repository.findAllByOrderByTitleAscIdAsc(limit) : repository.findAfterTitle(after.getTitle(), after.getId(), limit);
+        else
+            courses = after == null ? repository.findAllByOrderByIdAsc(limit) : repository.findByIdGreaterThanOrderByIdAsc(after.getId(), limit);
+
+        if (courses.size() <= pageSize)
+            return new CursorPage<>(courses, courses.size(), null);
+
+        List<Course> content = courses.subList(0, pageSize);
+
+        return new CursorPage<>(content, pageSize, CourseCursor.after(sortKey, content.get(pageSize - 1)).encode());
     }
 }
@@ -0,0 +1,84 @@
+package br.com.course.academy.endpoint.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one: the first caller runs the loader, the ones arriving while
+ * it runs wait for its result instead of running their own. Nothing is kept once the call completes, this is not
+ * a cache. A waiting caller gives up after {@code timeout} milliseconds with a 503.
+ * <p>
+ * Calls are counted in {@code <name>.singleflight} tagged with result=executed, coalesced or timeout.
+ */
+@Slf4j
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long timeout;
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter timedOut;
+
+    public SingleFlight(String name, long timeout, MeterRegistry meterRegistry) {
+        this.timeout = timeout;
+        this.executed = meterRegistry.counter(name + ".singleflight", "result", "executed");
+        this.coalesced = meterRegistry.counter(name + ".singleflight", "result", "coalesced");
+        this.timedOut = meterRegistry.counter(name + ".singleflight", "result", "timeout");
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+
+        if (running == null)
+            return run(key, call, loader);
+
+        coalesced.increment();
+        log.info("Joining the call in flight for {}", key);
+
+        return await(key, running);
+    }
+
+    private V run(K key, CompletableFuture<V> call, Supplier<V> loader) {
+        executed.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private V await(K key, CompletableFuture<V> running) {
+        try {
+            return running.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOut.increment();
+            log.warn("Gave up waiting {} ms for the call in flight for {}", timeout, key);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Timed out waiting for an identical query");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted waiting for an identical query", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
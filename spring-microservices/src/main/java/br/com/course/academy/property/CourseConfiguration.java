@@ -0,0 +1,94 @@
+package br.com.course.academy.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "course.config")
+@Getter
+@Setter
+@ToString
+public class CourseConfiguration {
+    @NestedConfigurationProperty
+    private Export export = new Export();
+    @NestedConfigurationProperty
+    private Ingest ingest = new Ingest();
+    @NestedConfigurationProperty
+    private Coalescing coalescing = new Coalescing();
+    @NestedConfigurationProperty
+    private Search search = new Search();
+    @NestedConfigurationProperty
+    private HttpCache httpCache = new HttpCache();
+
+    /**
+     * Catalog export. Rows are fetched from the database {@code fetchSize} at a time, which is also how often the
+     * response is flushed and the persistence context cleared, or streamed one by one with {@code streamRows} on
+     * MySQL, whose driver otherwise reads the whole result first. An export running longer than {@code timeout}
+     * milliseconds is cut off, the other asynchronous requests keep the default timeout.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class Export {
+        private int fetchSize = 500;
+        private boolean streamRows = false;
+        private long timeout = 600_000;
+    }
+
+    /**
+     * Bulk ingestion. Courses are inserted and committed {@code batchSize} at a time, keep it a multiple of the
+     * course_seq allocation size and equal to {@code hibernate.jdbc.batch_size}.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class Ingest {
+        private int batchSize = 50;
+    }
+
+    /**
+     * Identical concurrent listings share one query. A caller waits at most {@code timeout} milliseconds for the
+     * query started by another one.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class Coalescing {
+        private boolean enabled = true;
+        private long timeout = 5000;
+    }
+
+    /**
+     * Title search. The index is loaded {@code loadPageSize} courses at a time, a failed load being retried after
+     * {@code retryDelay} milliseconds, doubled on every failure up to {@code maxRetryDelay}. The courses inserted
+     * since are read every {@code refreshInterval} milliseconds, zero disabling it. A search returns at most
+     * {@code maxResults} courses.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class Search {
+        private int loadPageSize = 5000;
+        private long retryDelay = 1000;
+        private long maxRetryDelay = 60000;
+        private long refreshInterval = 10000;
+        private int maxResults = 100;
+    }
+
+    /**
+     * Caching of the listings. Clients always revalidate them with their ETag, shared caches such as the gateway
+     * may reuse them for {@code sharedMaxAge} seconds, zero making them revalidate as well. The catalog version
+     * behind the ETag is read from the database at most every {@code versionTtl} milliseconds.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class HttpCache {
+        private int sharedMaxAge = 0;
+        private long versionTtl = 1000;
+    }
+}
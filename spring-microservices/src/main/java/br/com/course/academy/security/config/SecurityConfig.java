@@ -0,0 +1,29 @@
+package br.com.course.academy.security.config;
+
+import br.com.course.config.SecurityTokenConfig;
+import br.com.course.core.property.JWTConfiguration;
+import br.com.course.token.converter.IdentityConverter;
+import br.com.course.token.converter.TokenConverter;
+import br.com.course.token.security.filter.JwtTokenAuthorizationFilter;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+@EnableWebSecurity
+public class SecurityConfig extends SecurityTokenConfig {
+    private final TokenConverter tokenConverter;
+    private final IdentityConverter identityConverter;
+
+    public SecurityConfig(JWTConfiguration jwtConfiguration, TokenConverter tokenConverter, IdentityConverter identityConverter) {
+        super(jwtConfiguration);
+        this.tokenConverter = tokenConverter;
+        this.identityConverter = identityConverter;
+    }
+
+    @Override
+    protected void configure(HttpSecurity http) throws Exception {
+        http
+                .addFilterAfter(new JwtTokenAuthorizationFilter(jwtConfiguration, tokenConverter, identityConverter), UsernamePasswordAuthenticationFilter.class);
+        super.configure(http);
+    }
+}
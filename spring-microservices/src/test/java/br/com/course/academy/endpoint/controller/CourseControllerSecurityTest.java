@@ -0,0 +1,74 @@
+package br.com.course.academy.endpoint.controller;
+
+import br.com.course.token.converter.IdentityConverter;
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The admin endpoints of the course service behind the identity header of the gateway, on an in memory database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:course-security;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "eureka.client.enabled=false",
+        "jwt.config.identity.trusted=true",
+        "jwt.config.identity.secret=course-security-test-identity-secret-0123"
+})
+@AutoConfigureMockMvc
+class CourseControllerSecurityTest {
+    private static final String IDENTITY_HEADER = "X-Identity";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private IdentityConverter identityConverter;
+
+    @Test
+    void rejectsABulkCreateFromAUser() throws Exception {
+        mockMvc.perform(post("/v1/admin/course/bulk")
+                .header(IDENTITY_HEADER, identity("ROLE_USER"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"Spring\"}]"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void acceptsABulkCreateFromAnAdmin() throws Exception {
+        mockMvc.perform(post("/v1/admin/course/bulk")
+                .header(IDENTITY_HEADER, identity("ROLE_ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void rejectsABulkCreateWithoutIdentity() throws Exception {
+        mockMvc.perform(post("/v1/admin/course/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String identity(String authority) throws Exception {
+        return identityConverter.createIdentity(new JWTClaimsSet.Builder()
+                .subject("someone")
+                .claim("authorities", List.of(authority))
+                .expirationTime(new Date(System.currentTimeMillis() + 60_000))
+                .build());
+    }
+}
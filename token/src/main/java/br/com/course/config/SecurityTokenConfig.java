@@ -33,7 +33,8 @@ public class SecurityTokenConfig extends WebSecurityConfigurerAdapter {
                 .and()
                 .authorizeRequests()
                 .antMatchers(jwtConfiguration.getLoginUrl()).permitAll()
-                .antMatchers("/course/admin/**").hasRole("ADMIN")
+                .antMatchers(jwtConfiguration.getJwkSet().getPath()).permitAll()
+                .antMatchers("/v1/admin/**").hasRole("ADMIN")
                 .anyRequest().authenticated();
     }
 
@@ -0,0 +1,98 @@
+package br.com.course.token.converter;
+
+import br.com.course.core.property.JWTConfiguration;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of the claims of tokens that were already decrypted and verified, so a token presented again
+ * skips the AES decryption and the signature verification. Entries are keyed by the SHA-256 of the token, never
+ * outlive the token expiration and are weighed by their approximate heap size. Hit and miss counts are published
+ * as the {@code jwt.claims} cache metrics.
+ */
+@Component
+public class DecryptedClaimsCache {
+    private static final int ENTRY_OVERHEAD = 256;
+    private final boolean enabled;
+    private final Cache<String, JWTClaimsSet> cache;
+
+    @Autowired
+    public DecryptedClaimsCache(JWTConfiguration jwtConfiguration, MeterRegistry meterRegistry) {
+        JWTConfiguration.ClaimsCache config = jwtConfiguration.getClaimsCache();
+
+        Weigher<String, JWTClaimsSet> weigher = (key, claims) -> ENTRY_OVERHEAD + 2 * (key.length() + claims.toString().length());
+
+        Cache<String, JWTClaimsSet> claimsCache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxWeight())
+                .weigher(weigher)
+                .expireAfter(new ClaimsExpiry(TimeUnit.SECONDS.toNanos(config.getMaxTtl())))
+                .recordStats()
+                .build();
+
+        this.enabled = config.isEnabled();
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
+    }
+
+    public JWTClaimsSet get(String token) {
+        return enabled ? cache.getIfPresent(hash(token)) : null;
+    }
+
+    public void put(String token, JWTClaimsSet claims) {
+        if (enabled)
+            cache.put(hash(token), claims);
+    }
+
+    @SneakyThrows
+    private static String hash(String token) {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    static final class ClaimsExpiry implements Expiry<String, JWTClaimsSet> {
+        private final long maxTtl;
+
+        ClaimsExpiry(long maxTtl) {
+            this.maxTtl = maxTtl;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, JWTClaimsSet claims, long currentTime) {
+            return expireAfterCreate(claims, System.currentTimeMillis());
+        }
+
+        /**
+         * Nanoseconds the claims may stay cached when created at {@code now}, in epoch milliseconds.
+         */
+        long expireAfterCreate(JWTClaimsSet claims, long now) {
+            Date expiration = claims.getExpirationTime();
+            if (expiration == null)
+                return maxTtl;
+            long remaining = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - now);
+            return Math.max(0, Math.min(remaining, maxTtl));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JWTClaimsSet claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JWTClaimsSet claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.course.token.converter;
+
+import br.com.course.core.property.JWTConfiguration;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.BadJWTException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts the claims of a verified token to the compact identity the gateway forwards to the backends and back.
+ * The identity is an HS256 JWS carrying only the subject and the authorities, so a backend checks it with one HMAC
+ * instead of decrypting the token and verifying its RSA or EC signature.
+ * <p>
+ * The secret has no default: without it the converter can neither sign nor verify, which only the services that
+ * do not deal with identities accept. A secret shorter than 32 bytes, or a missing one while the identity is
+ * trusted, fails the startup.
+ */
+@Component
+public class IdentityConverter {
+    private static final JWSHeader HEADER = new JWSHeader(JWSAlgorithm.HS256);
+    private static final int MIN_SECRET_LENGTH = 32;
+    private final JWSSigner signer;
+    private final JWSVerifier verifier;
+    private final long ttl;
+
+    @Autowired
+    public IdentityConverter(JWTConfiguration jwtConfiguration) throws JOSEException {
+        JWTConfiguration.Identity identity = jwtConfiguration.getIdentity();
+        this.ttl = TimeUnit.SECONDS.toMillis(identity.getTtl());
+
+        if (identity.getSecret() == null || identity.getSecret().isEmpty()) {
+            if (identity.isTrusted())
+                throw new IllegalStateException("jwt.config.identity.secret is required to trust the identity header");
+            this.signer = null;
+            this.verifier = null;
+            return;
+        }
+
+        byte[] secret = identity.getSecret().getBytes(StandardCharsets.UTF_8);
+
+        if (secret.length < MIN_SECRET_LENGTH)
+            throw new IllegalStateException(String.format("jwt.config.identity.secret must be at least %d bytes long", MIN_SECRET_LENGTH));
+
+        this.signer = new MACSigner(secret);
+        this.verifier = new MACVerifier(secret);
+    }
+
+    /**
+     * Whether a secret is configured, the identities can be neither signed nor verified otherwise.
+     */
+    public boolean isConfigured() {
+        return signer != null;
+    }
+
+    public String createIdentity(JWTClaimsSet tokenClaims) throws ParseException, JOSEException {
+        if (signer == null)
+            throw new JOSEException("No identity secret configured");
+
+        long now = System.currentTimeMillis();
+        Date expiration = new Date(now + ttl);
+
+        if (tokenClaims.getExpirationTime() != null && tokenClaims.getExpirationTime().before(expiration))
+            expiration = tokenClaims.getExpirationTime();
+
+        List<String> authorities = tokenClaims.getStringListClaim("authorities");
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(tokenClaims.getSubject())
+                .claim("authorities", authorities == null ? List.of() : authorities)
+                .expirationTime(expiration)
+                .build();
+
+        SignedJWT identity = new SignedJWT(HEADER, claims);
+        identity.sign(signer);
+
+        return identity.serialize();
+    }
+
+    public JWTClaimsSet getClaims(String identity) throws ParseException, JOSEException, BadJOSEException {
+        if (verifier == null)
+            throw new JOSEException("No identity secret configured");
+
+        SignedJWT signedJWT = SignedJWT.parse(identity);
+
+        if (!JWSAlgorithm.HS256.equals(signedJWT.getHeader().getAlgorithm()) || !signedJWT.verify(verifier))
+            throw new BadJWSException("Invalid identity signature");
+
+        JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+
+        if (claims.getExpirationTime() == null || claims.getExpirationTime().before(new Date()))
+            throw new BadJWTException("Expired identity");
+
+        return claims;
+    }
+}
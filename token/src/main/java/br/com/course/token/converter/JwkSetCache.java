@@ -0,0 +1,125 @@
+package br.com.course.token.converter;
+
+import br.com.course.core.property.JWTConfiguration;
+import br.com.course.token.key.SignatureAlgorithm;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URL;
+import java.text.ParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Verifier side copy of the public keys published by the auth service. The set is fetched lazily, kept for
+ * {@code jwt.config.jwk-set.cache-ttl} seconds and refetched earlier when a token references an unknown kid,
+ * which is how a rotation on the auth service is picked up. Forced refetches are rate limited so tokens with
+ * made up kids cannot hammer the auth service.
+ * <p>
+ * One verifier is built per kid and reused until the key leaves the published set.
+ */
+@Component
+@Slf4j
+public class JwkSetCache {
+    private final JWTConfiguration jwtConfiguration;
+    private final Map<String, JWSVerifier> verifiers = new ConcurrentHashMap<>();
+    private volatile CachedJwkSet cached;
+
+    @Autowired
+    public JwkSetCache(JWTConfiguration jwtConfiguration) {
+        this.jwtConfiguration = jwtConfiguration;
+    }
+
+    public JWSVerifier getVerifier(String keyId) throws JOSEException {
+        if (keyId == null)
+            return null;
+
+        JWSVerifier verifier = verifiers.get(keyId);
+
+        if (verifier != null)
+            return verifier;
+
+        JWK jwk = getKey(keyId);
+
+        if (jwk == null)
+            return null;
+
+        verifier = SignatureAlgorithm.createVerifier(jwk);
+
+        verifiers.put(keyId, verifier);
+
+        return verifier;
+    }
+
+    public JWK getKey(String keyId) {
+        return getKey(keyId, System.nanoTime());
+    }
+
+    JWK getKey(String keyId, long now) {
+        if (keyId == null)
+            return null;
+
+        CachedJwkSet current = cached;
+
+        if (current != null && !current.isExpired(now)) {
+            JWK jwk = current.jwkSet.getKeyByKeyId(keyId);
+            if (jwk != null || !current.canRefresh(now))
+                return jwk;
+        }
+
+        CachedJwkSet refreshed = refresh(current, now);
+
+        return refreshed == null ? null : refreshed.jwkSet.getKeyByKeyId(keyId);
+    }
+
+    private synchronized CachedJwkSet refresh(CachedJwkSet seen, long now) {
+        if (cached != seen)
+            return cached;
+
+        try {
+            JWKSet jwkSet = fetchJwkSet();
+            cached = new CachedJwkSet(jwkSet, now);
+            verifiers.keySet().retainAll(jwkSet.getKeys().stream().map(JWK::getKeyID).collect(toSet()));
+            log.info("JWK set refreshed, {} key(s) available", jwkSet.getKeys().size());
+        } catch (IOException | ParseException e) {
+            log.error("Unable to fetch the JWK set from '{}'", jwtConfiguration.getJwkSet().getUri(), e);
+            cached = new CachedJwkSet(seen == null ? new JWKSet() : seen.jwkSet, now);
+        }
+        return cached;
+    }
+
+    protected JWKSet fetchJwkSet() throws IOException, ParseException {
+        JWTConfiguration.JwkSet config = jwtConfiguration.getJwkSet();
+
+        log.info("Fetching the JWK set from '{}'", config.getUri());
+
+        return JWKSet.load(new URL(config.getUri()), config.getConnectTimeout(), config.getReadTimeout(), config.getSizeLimit());
+    }
+
+    private final class CachedJwkSet {
+        private final JWKSet jwkSet;
+        private final long fetchedAt;
+
+        private CachedJwkSet(JWKSet jwkSet, long fetchedAt) {
+            this.jwkSet = jwkSet;
+            this.fetchedAt = fetchedAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - fetchedAt > TimeUnit.SECONDS.toNanos(jwtConfiguration.getJwkSet().getCacheTtl());
+        }
+
+        private boolean canRefresh(long now) {
+            return now - fetchedAt > TimeUnit.SECONDS.toNanos(jwtConfiguration.getJwkSet().getMinRefreshInterval());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.course.token.converter;
+
+import br.com.course.core.property.JWTConfiguration;
+import br.com.course.token.key.SignatureAlgorithm;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWEObject;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.KeyLengthException;
+import com.nimbusds.jose.crypto.DirectDecrypter;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.BadJWTException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.text.ParseException;
+import java.util.Date;
+
+@Service
+@Slf4j
+public class TokenConverter {
+    private final JwkSetCache jwkSetCache;
+    private final DecryptedClaimsCache claimsCache;
+    private final DirectDecrypter directDecrypter;
+
+    @Autowired
+    public TokenConverter(JWTConfiguration jwtConfiguration, JwkSetCache jwkSetCache, DecryptedClaimsCache claimsCache) throws KeyLengthException {
+        this.jwkSetCache = jwkSetCache;
+        this.claimsCache = claimsCache;
+        this.directDecrypter = new DirectDecrypter(jwtConfiguration.getPrivateKey().getBytes());
+    }
+
+    /**
+     * Returns the claims of an encrypted token, reusing the cached claims when the same token was already verified.
+     */
+    public JWTClaimsSet getClaims(String encryptedToken) throws ParseException, JOSEException, BadJOSEException {
+        JWTClaimsSet claims = claimsCache.get(encryptedToken);
+
+        if (claims != null)
+            return claims;
+
+        claims = validateToken(encryptedToken);
+
+        claimsCache.put(encryptedToken, claims);
+
+        return claims;
+    }
+
+    public JWTClaimsSet validateToken(String encryptedToken) throws ParseException, JOSEException, BadJOSEException {
+        SignedJWT signedJWT = decryptToken(encryptedToken);
+
+        validateTokenSignature(signedJWT);
+
+        JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+
+        Date expiration = claims.getExpirationTime();
+
+        if (expiration == null || expiration.before(new Date()))
+            throw new BadJWTException("Expired token");
+
+        return claims;
+    }
+
+    public SignedJWT decryptToken(String encryptedToken) throws ParseException, JOSEException, BadJOSEException {
+        log.info("Decrypting token");
+
+        JWEObject jweObject = JWEObject.parse(encryptedToken);
+
+        jweObject.decrypt(directDecrypter);
+
+        SignedJWT signedJWT = jweObject.getPayload().toSignedJWT();
+
+        if (signedJWT == null)
+            throw new BadJWTException("The encrypted payload is not a signed JWT");
+
+        log.info("Token decrypted, returning signed token");
+
+        return signedJWT;
+    }
+
+    public void validateTokenSignature(SignedJWT signedJWT) throws JOSEException, BadJOSEException {
+        log.info("Starting method to validate token signature");
+
+        String keyId = signedJWT.getHeader().getKeyID();
+        JWSAlgorithm algorithm = signedJWT.getHeader().getAlgorithm();
+
+        JWK jwk = jwkSetCache.getKey(keyId);
+
+        if (jwk == null)
+            throw new BadJWSException(String.format("Unknown signing key '%s'", keyId));
+
+        if (!SignatureAlgorithm.isSupported(algorithm) || (jwk.getAlgorithm() != null && !jwk.getAlgorithm().equals(algorithm)))
+            throw new BadJWSException(String.format("Unexpected signature algorithm '%s' for the key '%s'", algorithm, keyId));
+
+        JWSVerifier verifier = jwkSetCache.getVerifier(keyId);
+
+        if (verifier == null || !signedJWT.verify(verifier))
+            throw new BadJWSException("Invalid token signature");
+
+        log.info("Token has a valid signature");
+    }
+}
@@ -2,14 +2,12 @@ package br.com.course.token.creator;
 
 import br.com.course.core.model.ApplicationUser;
 import br.com.course.core.property.JWTConfiguration;
+import br.com.course.token.key.SigningKey;
+import br.com.course.token.key.SigningKeyRing;
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.DirectEncrypter;
-import com.nimbusds.jose.crypto.RSASSASigner;
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,19 +15,31 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.interfaces.RSAPublicKey;
 import java.util.Date;
-import java.util.UUID;
 
 import static java.util.stream.Collectors.toList;
 
+/**
+ * Issues the signed and encrypted tokens. The JOSE headers, the signer of each key and the encrypter are built
+ * once and shared by all the threads, only the claims and the JOSE objects are allocated per token.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class TokenCreator {
     private final JWTConfiguration jwtConfiguration;
+    private final SigningKeyRing signingKeyRing;
+    private final DirectEncrypter directEncrypter;
+    private final JWEHeader jweHeader;
+
+    @Autowired
+    public TokenCreator(JWTConfiguration jwtConfiguration, SigningKeyRing signingKeyRing) throws KeyLengthException {
+        this.jwtConfiguration = jwtConfiguration;
+        this.signingKeyRing = signingKeyRing;
+        this.directEncrypter = new DirectEncrypter(jwtConfiguration.getPrivateKey().getBytes());
+        this.jweHeader = new JWEHeader.Builder(JWEAlgorithm.DIR, EncryptionMethod.A128CBC_HS256)
+                .contentType("JWT")
+                .build();
+    }
 
     @SneakyThrows
     public SignedJWT createSignedJWT(Authentication auth) {
@@ -39,24 +49,13 @@ public class TokenCreator {
 
         JWTClaimsSet jwtClaimSet = createJWTClaimSet(auth, applicationUser);
 
-        KeyPair rsaKeys = generateKeyPair();
-
-        log.info("Building JWK from the RSA Keys");
+        SigningKey signingKey = signingKeyRing.getActiveKey();
 
-        JWK jwk = new RSAKey.Builder((RSAPublicKey) rsaKeys.getPublic()).keyID(UUID.randomUUID().toString()).build();
+        log.info("Signing the token with the active signing key '{}'", signingKey.getKeyId());
 
-        SignedJWT signedJWT = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256)
-                .jwk(jwk)
-                .type(JOSEObjectType.JWT)
-                .build(), jwtClaimSet);
+        SignedJWT signedJWT = new SignedJWT(signingKey.getHeader(), jwtClaimSet);
 
-        log.info("Signing the token with the private RSA Key");
-
-        RSASSASigner signer = new RSASSASigner(rsaKeys.getPrivate());
-
-        signedJWT.sign(signer);
-
-        log.info("Serialized token '{}'", signedJWT.serialize());
+        signedJWT.sign(signingKey.getSigner());
 
         return signedJWT;
 
@@ -77,26 +76,10 @@ public class TokenCreator {
                 .build();
     }
 
-    @SneakyThrows
-    private KeyPair generateKeyPair() {
-        log.info("Generating RSA 2048 bits Keys");
-
-        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
-
-        generator.initialize(2048);
-
-        return generator.genKeyPair();
-    }
-
-
     public String encryptToken(SignedJWT signedJWT) throws JOSEException {
         log.info("Starting the encryptToken method");
 
-        DirectEncrypter directEncrypter = new DirectEncrypter(jwtConfiguration.getPrivateKey().getBytes());
-
-        JWEObject jweObject = new JWEObject(new JWEHeader.Builder(JWEAlgorithm.DIR, EncryptionMethod.A128CBC_HS256)
-                .contentType("JWT")
-                .build(), new Payload(signedJWT));
+        JWEObject jweObject = new JWEObject(jweHeader, new Payload(signedJWT));
 
         log.info("Encrypting token with system's private key");
 
@@ -106,4 +89,4 @@ public class TokenCreator {
 
         return jweObject.serialize();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package br.com.course.token.key;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Signer;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * Signature algorithms the tokens can be issued with, selected by {@code jwt.config.key-ring.algorithm}.
+ * RS256 is the default, ES256 and EdDSA (Ed25519) sign faster and produce much smaller signatures.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum SignatureAlgorithm {
+    RS256(JWSAlgorithm.RS256) {
+        @Override
+        public JWK generateKey(String keyId, int keySize) throws JOSEException {
+            return new RSAKeyGenerator(keySize).keyID(keyId).keyUse(KeyUse.SIGNATURE).algorithm(getJwsAlgorithm()).generate();
+        }
+
+        @Override
+        public JWSSigner createSigner(JWK jwk) throws JOSEException {
+            return new RSASSASigner((RSAKey) jwk);
+        }
+    },
+    ES256(JWSAlgorithm.ES256) {
+        @Override
+        public JWK generateKey(String keyId, int keySize) throws JOSEException {
+            return new ECKeyGenerator(Curve.P_256).keyID(keyId).keyUse(KeyUse.SIGNATURE).algorithm(getJwsAlgorithm()).generate();
+        }
+
+        @Override
+        public JWSSigner createSigner(JWK jwk) throws JOSEException {
+            return new ECDSASigner((ECKey) jwk);
+        }
+    },
+    EdDSA(JWSAlgorithm.EdDSA) {
+        @Override
+        public JWK generateKey(String keyId, int keySize) throws JOSEException {
+            return new OctetKeyPairGenerator(Curve.Ed25519).keyID(keyId).keyUse(KeyUse.SIGNATURE).algorithm(getJwsAlgorithm()).generate();
+        }
+
+        @Override
+        public JWSSigner createSigner(JWK jwk) throws JOSEException {
+            return new Ed25519Signer((OctetKeyPair) jwk);
+        }
+    };
+
+    private final JWSAlgorithm jwsAlgorithm;
+
+    /**
+     * Generates a key pair for this algorithm, the key size is only used by RSA.
+     */
+    public abstract JWK generateKey(String keyId, int keySize) throws JOSEException;
+
+    public abstract JWSSigner createSigner(JWK jwk) throws JOSEException;
+
+    public static SignatureAlgorithm of(String name) {
+        return Arrays.stream(values())
+                .filter(algorithm -> algorithm.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.format("Unsupported signature algorithm '%s'", name)));
+    }
+
+    public static boolean isSupported(JWSAlgorithm jwsAlgorithm) {
+        return Arrays.stream(values()).anyMatch(algorithm -> algorithm.jwsAlgorithm.equals(jwsAlgorithm));
+    }
+
+    /**
+     * Builds the verifier matching the type of a public key published on the JWK set.
+     */
+    public static JWSVerifier createVerifier(JWK jwk) throws JOSEException {
+        if (jwk instanceof RSAKey)
+            return new RSASSAVerifier((RSAKey) jwk);
+        if (jwk instanceof ECKey)
+            return new ECDSAVerifier((ECKey) jwk);
+        if (jwk instanceof OctetKeyPair)
+            return new Ed25519Verifier((OctetKeyPair) jwk);
+        throw new JOSEException(String.format("Unsupported key type '%s'", jwk.getKeyType()));
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.course.token.key;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.jwk.JWK;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Immutable signing key held by the {@link SigningKeyRing}. A key is active until it is retired by a rotation,
+ * after which it is only kept so tokens already signed with it can still be verified.
+ * <p>
+ * The JWS header and the signer are built once per key and shared by every signing call, both are thread-safe.
+ */
+@Getter
+@ToString(onlyExplicitlyIncluded = true)
+public final class SigningKey {
+    @ToString.Include
+    private final String keyId;
+    @ToString.Include
+    private final SignatureAlgorithm algorithm;
+    private final JWK jwk;
+    private final JWSHeader header;
+    private final JWSSigner signer;
+    @ToString.Include
+    private final Instant createdAt;
+    @ToString.Include
+    private final Instant retiredAt;
+
+    SigningKey(SignatureAlgorithm algorithm, JWK jwk, Instant createdAt) throws JOSEException {
+        this(algorithm, jwk, new JWSHeader.Builder(algorithm.getJwsAlgorithm())
+                .keyID(jwk.getKeyID())
+                .type(JOSEObjectType.JWT)
+                .build(), algorithm.createSigner(jwk), createdAt, null);
+    }
+
+    private SigningKey(SignatureAlgorithm algorithm, JWK jwk, JWSHeader header, JWSSigner signer, Instant createdAt, Instant retiredAt) {
+        this.keyId = jwk.getKeyID();
+        this.algorithm = algorithm;
+        this.jwk = jwk;
+        this.header = header;
+        this.signer = signer;
+        this.createdAt = createdAt;
+        this.retiredAt = retiredAt;
+    }
+
+    public JWK getPublicJwk() {
+        return jwk.toPublicJWK();
+    }
+
+    SigningKey retire(Instant now) {
+        return retiredAt != null ? this : new SigningKey(algorithm, jwk, header, signer, createdAt, now);
+    }
+
+    boolean isExpired(Instant now, Duration overlap) {
+        return retiredAt != null && retiredAt.plus(overlap).isBefore(now);
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.course.token.key;
+
+import br.com.course.core.property.JWTConfiguration;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ResourceUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.InputStream;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Holds the keys used to sign tokens. The first key of the ring is the active one, the others were retired by a
+ * rotation and are kept during the overlap window. Readers never lock: the ring is an immutable list swapped
+ * atomically by the rotation thread.
+ * <p>
+ * Generated keys are local to the instance, so they are refused unless explicitly enabled for a single instance.
+ */
+@Component
+@Slf4j
+public class SigningKeyRing {
+    private final JWTConfiguration jwtConfiguration;
+    private volatile List<SigningKey> keys = List.of();
+    private ScheduledExecutorService rotationExecutor;
+
+    @Autowired
+    public SigningKeyRing(JWTConfiguration jwtConfiguration) {
+        this.jwtConfiguration = jwtConfiguration;
+    }
+
+    @PostConstruct
+    public void init() {
+        JWTConfiguration.KeyRing keyRing = jwtConfiguration.getKeyRing();
+
+        if (keyRing.getKeyStore() != null) {
+            keys = singletonList(loadKey(keyRing));
+            log.info("Signing key '{}' loaded from '{}', rotation disabled", keys.get(0).getKeyId(), keyRing.getKeyStore());
+            return;
+        }
+
+        if (!keyRing.isGenerateKeys())
+            throw new IllegalStateException("No signing key store configured: set jwt.config.key-ring.key-store to a key store shared by every auth instance, "
+                    + "or jwt.config.key-ring.generate-keys=true to generate the keys in memory on a single instance");
+
+        log.warn("Signing keys generated in memory: tokens signed by this instance will not verify against the keys published by any other auth instance");
+
+        keys = singletonList(generateKey());
+
+        if (keyRing.getRotationInterval() > 0) {
+            rotationExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "signing-key-rotation");
+                thread.setDaemon(true);
+                return thread;
+            });
+            rotationExecutor.scheduleAtFixedRate(this::rotate, keyRing.getRotationInterval(), keyRing.getRotationInterval(), TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (rotationExecutor != null)
+            rotationExecutor.shutdownNow();
+    }
+
+    public SigningKey getActiveKey() {
+        return keys.get(0);
+    }
+
+    public Optional<SigningKey> getKey(String keyId) {
+        return keys.stream().filter(key -> key.getKeyId().equals(keyId)).findFirst();
+    }
+
+    public List<SigningKey> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Generates a new active key and retires the current one. Keys retired for longer than the overlap window
+     * are dropped from the ring.
+     */
+    public void rotate() {
+        rotate(Instant.now());
+    }
+
+    synchronized void rotate(Instant now) {
+        try {
+            Duration overlap = Duration.ofSeconds(Math.max(jwtConfiguration.getKeyRing().getOverlap(), jwtConfiguration.getExpiration()));
+
+            List<SigningKey> rotated = new ArrayList<>();
+            rotated.add(generateKey());
+
+            for (SigningKey key : keys) {
+                SigningKey retired = key.retire(now);
+                if (!retired.isExpired(now, overlap))
+                    rotated.add(retired);
+            }
+
+            keys = unmodifiableList(rotated);
+
+            log.info("Signing keys rotated, active key '{}', {} key(s) in the ring", rotated.get(0).getKeyId(), rotated.size());
+        } catch (Exception e) {
+            log.error("Unable to rotate the signing keys, keeping the current ones", e);
+        }
+    }
+
+    @SneakyThrows
+    private SigningKey generateKey() {
+        SignatureAlgorithm algorithm = SignatureAlgorithm.of(jwtConfiguration.getKeyRing().getAlgorithm());
+
+        log.info("Generating {} signing key", algorithm);
+
+        return new SigningKey(algorithm, algorithm.generateKey(UUID.randomUUID().toString(), jwtConfiguration.getKeyRing().getKeySize()), Instant.now());
+    }
+
+    /**
+     * Loads an RSA or EC key pair from the configured key store, the alias being used as kid.
+     */
+    @SneakyThrows
+    private SigningKey loadKey(JWTConfiguration.KeyRing keyRing) {
+        KeyStore keyStore = KeyStore.getInstance(keyRing.getKeyStoreType());
+
+        char[] storePassword = keyRing.getKeyStorePassword() == null ? null : keyRing.getKeyStorePassword().toCharArray();
+        char[] keyPassword = keyRing.getKeyPassword() == null ? storePassword : keyRing.getKeyPassword().toCharArray();
+
+        try (InputStream inputStream = ResourceUtils.getURL(keyRing.getKeyStore()).openStream()) {
+            keyStore.load(inputStream, storePassword);
+        }
+
+        PrivateKey privateKey = (PrivateKey) keyStore.getKey(keyRing.getKeyAlias(), keyPassword);
+        PublicKey publicKey = keyStore.getCertificate(keyRing.getKeyAlias()).getPublicKey();
+
+        if (publicKey instanceof RSAPublicKey) {
+            return new SigningKey(SignatureAlgorithm.RS256, new RSAKey.Builder((RSAPublicKey) publicKey)
+                    .privateKey(privateKey)
+                    .keyID(keyRing.getKeyAlias())
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.RS256)
+                    .build(), Instant.now());
+        }
+
+        if (publicKey instanceof ECPublicKey) {
+            ECPublicKey ecPublicKey = (ECPublicKey) publicKey;
+            if (!Curve.P_256.equals(Curve.forECParameterSpec(ecPublicKey.getParams())))
+                throw new IllegalStateException("Only P-256 EC keys are supported, as required by ES256");
+            return new SigningKey(SignatureAlgorithm.ES256, new ECKey.Builder(Curve.forECParameterSpec(ecPublicKey.getParams()), ecPublicKey)
+                    .privateKey(privateKey)
+                    .keyID(keyRing.getKeyAlias())
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.ES256)
+                    .build(), Instant.now());
+        }
+
+        throw new IllegalStateException(String.format("Unsupported key type '%s' in the key store", publicKey.getAlgorithm()));
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.course.token.security.filter;
+
+import br.com.course.core.property.JWTConfiguration;
+import br.com.course.token.converter.IdentityConverter;
+import br.com.course.token.converter.TokenConverter;
+import com.nimbusds.jwt.JWTClaimsSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.List;
+
+import static org.springframework.security.core.authority.AuthorityUtils.createAuthorityList;
+
+/**
+ * Authenticates the request from the identity header signed by the gateway or, for requests that did not go
+ * through the gateway, from the encrypted token of the authorization header. The identity header is only looked
+ * at when the deployment trusts the gateway ({@code jwt.config.identity.trusted}), it is ignored otherwise and
+ * the token decides. Invalid identities and tokens leave the request unauthenticated, so it is rejected by the
+ * entry point configured in the SecurityTokenConfig.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class JwtTokenAuthorizationFilter extends OncePerRequestFilter {
+    protected final JWTConfiguration jwtConfiguration;
+    protected final TokenConverter tokenConverter;
+    protected final IdentityConverter identityConverter;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain) throws ServletException, IOException {
+        String identity = jwtConfiguration.getIdentity().isTrusted() ? request.getHeader(jwtConfiguration.getIdentity().getHeader()) : null;
+
+        if (identity != null) {
+            authenticate(() -> identityConverter.getClaims(identity));
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String header = request.getHeader(jwtConfiguration.getHeader().getName());
+
+        if (header == null || !header.startsWith(jwtConfiguration.getHeader().getPrefix())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String token = header.substring(jwtConfiguration.getHeader().getPrefix().length()).trim();
+
+        authenticate(() -> tokenConverter.getClaims(token));
+
+        chain.doFilter(request, response);
+    }
+
+    private void authenticate(ClaimsSource claimsSource) {
+        try {
+            JWTClaimsSet claims = claimsSource.getClaims();
+            SecurityContextHolder.getContext().setAuthentication(createAuthentication(claims));
+        } catch (Exception e) {
+            log.error("Error validating the token '{}'", e.getMessage());
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private UsernamePasswordAuthenticationToken createAuthentication(JWTClaimsSet claims) throws ParseException {
+        List<String> authorities = claims.getStringListClaim("authorities");
+
+        List<GrantedAuthority> grantedAuthorities = authorities == null ? List.of() : createAuthorityList(authorities.toArray(new String[0]));
+
+        return new UsernamePasswordAuthenticationToken(claims.getSubject(), null, grantedAuthorities);
+    }
+
+    @FunctionalInterface
+    private interface ClaimsSource {
+        JWTClaimsSet getClaims() throws Exception;
+    }
+}
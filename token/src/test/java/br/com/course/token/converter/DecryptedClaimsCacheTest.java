@@ -0,0 +1,80 @@
+package br.com.course.token.converter;
+
+import br.com.course.core.property.JWTConfiguration;
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecryptedClaimsCacheTest {
+    private static final long NOW = 1_600_000_000_000L;
+    private static final long MAX_TTL = TimeUnit.SECONDS.toNanos(3600);
+
+    @Test
+    void entriesExpireWithTheToken() {
+        DecryptedClaimsCache.ClaimsExpiry expiry = new DecryptedClaimsCache.ClaimsExpiry(MAX_TTL);
+
+        assertThat(expiry.expireAfterCreate(claims(new Date(NOW + 60_000)), NOW)).isEqualTo(TimeUnit.SECONDS.toNanos(60));
+    }
+
+    @Test
+    void entriesNeverOutliveTheMaximumTtl() {
+        DecryptedClaimsCache.ClaimsExpiry expiry = new DecryptedClaimsCache.ClaimsExpiry(MAX_TTL);
+
+        assertThat(expiry.expireAfterCreate(claims(new Date(NOW + TimeUnit.HOURS.toMillis(2))), NOW)).isEqualTo(MAX_TTL);
+        assertThat(expiry.expireAfterCreate(claims(null), NOW)).isEqualTo(MAX_TTL);
+    }
+
+    @Test
+    void entriesOfExpiredTokensExpireImmediately() {
+        DecryptedClaimsCache.ClaimsExpiry expiry = new DecryptedClaimsCache.ClaimsExpiry(MAX_TTL);
+
+        assertThat(expiry.expireAfterCreate(claims(new Date(NOW - 1000)), NOW)).isZero();
+    }
+
+    @Test
+    void returnsTheClaimsOfTheSameToken() {
+        DecryptedClaimsCache claimsCache = new DecryptedClaimsCache(new JWTConfiguration(), new SimpleMeterRegistry());
+        JWTClaimsSet claims = claims(expiresIn(60));
+
+        claimsCache.put("token", claims);
+
+        assertThat(claimsCache.get("token")).isSameAs(claims);
+        assertThat(claimsCache.get("other-token")).isNull();
+    }
+
+    @Test
+    void doesNotKeepTheClaimsOfAnExpiredToken() {
+        DecryptedClaimsCache claimsCache = new DecryptedClaimsCache(new JWTConfiguration(), new SimpleMeterRegistry());
+
+        claimsCache.put("token", claims(expiresIn(-1)));
+
+        assertThat(claimsCache.get("token")).isNull();
+    }
+
+    @Test
+    void keepsNothingWhenDisabled() {
+        JWTConfiguration jwtConfiguration = new JWTConfiguration();
+        jwtConfiguration.getClaimsCache().setEnabled(false);
+        DecryptedClaimsCache claimsCache = new DecryptedClaimsCache(jwtConfiguration, new SimpleMeterRegistry());
+
+        claimsCache.put("token", claims(expiresIn(60)));
+
+        assertThat(claimsCache.get("token")).isNull();
+    }
+
+    private static JWTClaimsSet claims(Date expiration) {
+        return new JWTClaimsSet.Builder()
+                .subject("alice")
+                .expirationTime(expiration)
+                .build();
+    }
+
+    private static Date expiresIn(int seconds) {
+        return new Date(System.currentTimeMillis() + seconds * 1000L);
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.course.token.converter;
+
+import br.com.course.core.property.JWTConfiguration;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.BadJWTException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdentityConverterTest {
+    private static final String SECRET = "identity-converter-test-secret-0123456789";
+
+    @Test
+    void rejectsASecretShorterThan32Bytes() {
+        assertThatThrownBy(() -> new IdentityConverter(jwtConfiguration("too-short-secret", false)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void requiresASecretToTrustTheIdentity() {
+        assertThatThrownBy(() -> new IdentityConverter(jwtConfiguration(null, true)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void neitherSignsNorVerifiesWithoutASecret() throws JOSEException {
+        IdentityConverter identityConverter = new IdentityConverter(jwtConfiguration(null, false));
+
+        assertThat(identityConverter.isConfigured()).isFalse();
+        assertThatThrownBy(() -> identityConverter.createIdentity(tokenClaims(expiresIn(60)))).isInstanceOf(JOSEException.class);
+    }
+
+    @Test
+    void identitiesCarryTheSubjectAndTheAuthorities() throws Exception {
+        IdentityConverter identityConverter = new IdentityConverter(jwtConfiguration(SECRET, true));
+
+        JWTClaimsSet claims = identityConverter.getClaims(identityConverter.createIdentity(tokenClaims(expiresIn(3600))));
+
+        assertThat(claims.getSubject()).isEqualTo("alice");
+        assertThat(claims.getStringListClaim("authorities")).containsExactly("ROLE_ADMIN");
+        assertThat(claims.getExpirationTime()).isBefore(expiresIn(31));
+    }
+
+    @Test
+    void identitiesNeverOutliveTheToken() throws Exception {
+        IdentityConverter identityConverter = new IdentityConverter(jwtConfiguration(SECRET, true));
+        Date tokenExpiration = expiresIn(10);
+
+        JWTClaimsSet claims = SignedJWT.parse(identityConverter.createIdentity(tokenClaims(tokenExpiration))).getJWTClaimsSet();
+
+        assertThat(claims.getExpirationTime()).isEqualTo(new Date(tokenExpiration.getTime() / 1000 * 1000));
+    }
+
+    @Test
+    void rejectsAnExpiredIdentity() throws Exception {
+        IdentityConverter identityConverter = new IdentityConverter(jwtConfiguration(SECRET, true));
+
+        String identity = identityConverter.createIdentity(tokenClaims(expiresIn(-1)));
+
+        assertThatThrownBy(() -> identityConverter.getClaims(identity)).isInstanceOf(BadJWTException.class);
+    }
+
+    @Test
+    void rejectsAnIdentitySignedWithAnotherSecret() throws Exception {
+        IdentityConverter identityConverter = new IdentityConverter(jwtConfiguration(SECRET, true));
+        IdentityConverter forger = new IdentityConverter(jwtConfiguration("another-identity-secret-0123456789", true));
+
+        String identity = forger.createIdentity(tokenClaims(expiresIn(60)));
+
+        assertThatThrownBy(() -> identityConverter.getClaims(identity)).isInstanceOf(BadJWSException.class);
+    }
+
+    @Test
+    void rejectsATamperedIdentity() throws Exception {
+        IdentityConverter identityConverter = new IdentityConverter(jwtConfiguration(SECRET, true));
+        SignedJWT signed = SignedJWT.parse(identityConverter.createIdentity(tokenClaims(expiresIn(60))));
+        SignedJWT other = SignedJWT.parse(identityConverter.createIdentity(new JWTClaimsSet.Builder()
+                .subject("mallory")
+                .claim("authorities", List.of("ROLE_ADMIN"))
+                .build()));
+
+        String identity = signed.getHeader().toBase64URL() + "." + other.getPayload().toBase64URL() + "." + signed.getSignature();
+
+        assertThatThrownBy(() -> identityConverter.getClaims(identity)).isInstanceOf(BadJWSException.class);
+    }
+
+    private static JWTConfiguration jwtConfiguration(String secret, boolean trusted) {
+        JWTConfiguration jwtConfiguration = new JWTConfiguration();
+        jwtConfiguration.getIdentity().setSecret(secret);
+        jwtConfiguration.getIdentity().setTrusted(trusted);
+        return jwtConfiguration;
+    }
+
+    private static JWTClaimsSet tokenClaims(Date expiration) {
+        return new JWTClaimsSet.Builder()
+                .subject("alice")
+                .claim("authorities", List.of("ROLE_ADMIN"))
+                .expirationTime(expiration)
+                .build();
+    }
+
+    private static Date expiresIn(int seconds) {
+        return new Date(System.currentTimeMillis() + seconds * 1000L);
+    }
+}
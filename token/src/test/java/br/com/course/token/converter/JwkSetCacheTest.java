@@ -0,0 +1,118 @@
+package br.com.course.token.converter;
+
+import br.com.course.core.property.JWTConfiguration;
+import br.com.course.token.key.SignatureAlgorithm;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwkSetCacheTest {
+    private static final long START = 1_000_000_000L;
+    private final List<JWK> published = new ArrayList<>();
+    private JWTConfiguration jwtConfiguration;
+    private int fetches;
+    private boolean unavailable;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        jwtConfiguration = new JWTConfiguration();
+        jwtConfiguration.getJwkSet().setCacheTtl(300);
+        jwtConfiguration.getJwkSet().setMinRefreshInterval(30);
+
+        published.add(publicKey("first"));
+    }
+
+    @Test
+    void fetchesTheSetOnceWhileItIsFresh() {
+        JwkSetCache jwkSetCache = jwkSetCache();
+
+        assertThat(jwkSetCache.getKey("first", START)).isNotNull();
+        assertThat(jwkSetCache.getKey("first", START + seconds(299))).isNotNull();
+
+        assertThat(fetches).isEqualTo(1);
+    }
+
+    @Test
+    void refetchesTheSetOnceItExpires() {
+        JwkSetCache jwkSetCache = jwkSetCache();
+
+        jwkSetCache.getKey("first", START);
+        jwkSetCache.getKey("first", START + seconds(301));
+
+        assertThat(fetches).isEqualTo(2);
+    }
+
+    @Test
+    void refreshesTheSetForAnUnknownKid() throws JOSEException {
+        JwkSetCache jwkSetCache = jwkSetCache();
+        jwkSetCache.getKey("first", START);
+
+        // rotation on the auth service
+        published.add(0, publicKey("second"));
+
+        assertThat(jwkSetCache.getKey("second", START + seconds(31))).isNotNull();
+        assertThat(jwkSetCache.getKey("first", START + seconds(31))).isNotNull();
+        assertThat(fetches).isEqualTo(2);
+    }
+
+    @Test
+    void rateLimitsTheRefreshesForUnknownKids() {
+        JwkSetCache jwkSetCache = jwkSetCache();
+        jwkSetCache.getKey("first", START);
+
+        assertThat(jwkSetCache.getKey("made-up", START + seconds(1))).isNull();
+        assertThat(jwkSetCache.getKey("made-up", START + seconds(29))).isNull();
+        assertThat(fetches).isEqualTo(1);
+
+        assertThat(jwkSetCache.getKey("made-up", START + seconds(31))).isNull();
+        assertThat(fetches).isEqualTo(2);
+    }
+
+    @Test
+    void keepsTheKnownKeysWhenTheFetchFails() {
+        JwkSetCache jwkSetCache = jwkSetCache();
+        jwkSetCache.getKey("first", START);
+
+        unavailable = true;
+
+        assertThat(jwkSetCache.getKey("first", START + seconds(301))).isNotNull();
+        assertThat(fetches).isEqualTo(2);
+    }
+
+    @Test
+    void reusesTheVerifierOfAKid() throws JOSEException {
+        JwkSetCache jwkSetCache = jwkSetCache();
+
+        assertThat(jwkSetCache.getVerifier("first")).isNotNull().isSameAs(jwkSetCache.getVerifier("first"));
+        assertThat(jwkSetCache.getVerifier(null)).isNull();
+    }
+
+    private JwkSetCache jwkSetCache() {
+        return new JwkSetCache(jwtConfiguration) {
+            @Override
+            protected JWKSet fetchJwkSet() throws IOException {
+                fetches++;
+                if (unavailable)
+                    throw new IOException("auth service unavailable");
+                return new JWKSet(new ArrayList<>(published));
+            }
+        };
+    }
+
+    private static JWK publicKey(String keyId) throws JOSEException {
+        return SignatureAlgorithm.ES256.generateKey(keyId, 0).toPublicJWK();
+    }
+
+    private static long seconds(long seconds) {
+        return TimeUnit.SECONDS.toNanos(seconds);
+    }
+}
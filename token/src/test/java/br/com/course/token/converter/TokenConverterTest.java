@@ -0,0 +1,114 @@
+package br.com.course.token.converter;
+
+import br.com.course.core.property.JWTConfiguration;
+import br.com.course.token.creator.TokenCreator;
+import br.com.course.token.key.SigningKey;
+import br.com.course.token.key.SigningKeyRing;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.BadJWTException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tokens are signed by a key ring generated in memory and verified against its public keys, as the auth service
+ * publishes them.
+ */
+class TokenConverterTest {
+    private JWTConfiguration jwtConfiguration;
+    private SigningKeyRing signingKeyRing;
+    private TokenCreator tokenCreator;
+    private TokenConverter tokenConverter;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        jwtConfiguration = new JWTConfiguration();
+        jwtConfiguration.getKeyRing().setAlgorithm("ES256");
+        jwtConfiguration.getKeyRing().setGenerateKeys(true);
+        jwtConfiguration.getKeyRing().setRotationInterval(0);
+
+        signingKeyRing = new SigningKeyRing(jwtConfiguration);
+        signingKeyRing.init();
+        tokenCreator = new TokenCreator(jwtConfiguration, signingKeyRing);
+
+        JwkSetCache jwkSetCache = new JwkSetCache(jwtConfiguration) {
+            @Override
+            protected JWKSet fetchJwkSet() {
+                return new JWKSet(signingKeyRing.getKeys().stream().map(SigningKey::getPublicJwk).collect(toList()));
+            }
+        };
+        tokenConverter = new TokenConverter(jwtConfiguration, jwkSetCache, new DecryptedClaimsCache(jwtConfiguration, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void returnsTheClaimsOfAValidToken() throws Exception {
+        String token = tokenCreator.encryptToken(sign(claims("alice", expiresIn(60)), signingKeyRing.getActiveKey()));
+
+        assertThat(tokenConverter.getClaims(token).getSubject()).isEqualTo("alice");
+        assertThat(tokenConverter.getClaims(token).getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    void rejectsAnExpiredToken() throws Exception {
+        String token = tokenCreator.encryptToken(sign(claims("alice", expiresIn(-60)), signingKeyRing.getActiveKey()));
+
+        assertThatThrownBy(() -> tokenConverter.getClaims(token)).isInstanceOf(BadJWTException.class);
+    }
+
+    @Test
+    void rejectsATokenWithoutExpiration() throws Exception {
+        String token = tokenCreator.encryptToken(sign(claims("alice", null), signingKeyRing.getActiveKey()));
+
+        assertThatThrownBy(() -> tokenConverter.getClaims(token)).isInstanceOf(BadJWTException.class);
+    }
+
+    @Test
+    void rejectsATamperedSignature() throws Exception {
+        SignedJWT signed = sign(claims("alice", expiresIn(60)), signingKeyRing.getActiveKey());
+        SignedJWT other = sign(claims("admin", expiresIn(60)), signingKeyRing.getActiveKey());
+
+        // the claims of another token under the signature of the first one
+        SignedJWT tampered = new SignedJWT(signed.getHeader().toBase64URL(), other.getPayload().toBase64URL(), signed.getSignature());
+        String token = tokenCreator.encryptToken(tampered);
+
+        assertThatThrownBy(() -> tokenConverter.getClaims(token)).isInstanceOf(BadJWSException.class);
+    }
+
+    @Test
+    void rejectsATokenSignedWithAnUnpublishedKey() throws Exception {
+        SigningKeyRing otherKeyRing = new SigningKeyRing(jwtConfiguration);
+        otherKeyRing.init();
+
+        String token = tokenCreator.encryptToken(sign(claims("alice", expiresIn(60)), otherKeyRing.getActiveKey()));
+
+        assertThatThrownBy(() -> tokenConverter.getClaims(token)).isInstanceOf(BadJWSException.class);
+    }
+
+    private static SignedJWT sign(JWTClaimsSet claims, SigningKey signingKey) throws JOSEException {
+        SignedJWT signedJWT = new SignedJWT(signingKey.getHeader(), claims);
+        signedJWT.sign(signingKey.getSigner());
+        return signedJWT;
+    }
+
+    private static JWTClaimsSet claims(String subject, Date expiration) {
+        return new JWTClaimsSet.Builder()
+                .subject(subject)
+                .issueTime(new Date())
+                .expirationTime(expiration)
+                .build();
+    }
+
+    private static Date expiresIn(int seconds) {
+        return new Date(System.currentTimeMillis() + seconds * 1000L);
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.course.token.key;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SignatureAlgorithmTest {
+
+    @ParameterizedTest
+    @EnumSource(SignatureAlgorithm.class)
+    void signaturesVerifyWithThePublishedKey(SignatureAlgorithm algorithm) throws JOSEException {
+        JWK jwk = algorithm.generateKey("key", 2048);
+
+        SignedJWT signedJWT = sign(algorithm, jwk);
+
+        assertThat(jwk.toPublicJWK().isPrivate()).isFalse();
+        assertThat(signedJWT.verify(SignatureAlgorithm.createVerifier(jwk.toPublicJWK()))).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(SignatureAlgorithm.class)
+    void signaturesDoNotVerifyWithAnotherKey(SignatureAlgorithm algorithm) throws JOSEException {
+        SignedJWT signedJWT = sign(algorithm, algorithm.generateKey("key", 2048));
+        JWK other = algorithm.generateKey("other", 2048);
+
+        assertThat(signedJWT.verify(SignatureAlgorithm.createVerifier(other.toPublicJWK()))).isFalse();
+    }
+
+    @Test
+    void namesAreCaseInsensitive() {
+        assertThat(SignatureAlgorithm.of("es256")).isEqualTo(SignatureAlgorithm.ES256);
+        assertThat(SignatureAlgorithm.of("EDDSA")).isEqualTo(SignatureAlgorithm.EdDSA);
+        assertThatThrownBy(() -> SignatureAlgorithm.of("HS256")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void onlyTheAsymmetricAlgorithmsAreSupported() {
+        assertThat(SignatureAlgorithm.isSupported(JWSAlgorithm.RS256)).isTrue();
+        assertThat(SignatureAlgorithm.isSupported(JWSAlgorithm.ES256)).isTrue();
+        assertThat(SignatureAlgorithm.isSupported(JWSAlgorithm.EdDSA)).isTrue();
+        assertThat(SignatureAlgorithm.isSupported(JWSAlgorithm.HS256)).isFalse();
+    }
+
+    private static SignedJWT sign(SignatureAlgorithm algorithm, JWK jwk) throws JOSEException {
+        SignedJWT signedJWT = new SignedJWT(new JWSHeader.Builder(algorithm.getJwsAlgorithm()).keyID(jwk.getKeyID()).build(),
+                new JWTClaimsSet.Builder().subject("alice").build());
+        signedJWT.sign(algorithm.createSigner(jwk));
+        return signedJWT;
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.course.token.key;
+
+import br.com.course.core.property.JWTConfiguration;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SigningKeyRingTest {
+    private static final Instant START = Instant.parse("2020-01-01T00:00:00Z");
+    private JWTConfiguration jwtConfiguration;
+
+    @BeforeEach
+    void setUp() {
+        jwtConfiguration = new JWTConfiguration();
+        jwtConfiguration.setExpiration(60);
+        jwtConfiguration.getKeyRing().setAlgorithm("ES256");
+        jwtConfiguration.getKeyRing().setGenerateKeys(true);
+        jwtConfiguration.getKeyRing().setRotationInterval(0);
+        jwtConfiguration.getKeyRing().setOverlap(120);
+    }
+
+    @Test
+    void tokensSignedBeforeARotationVerifyDuringTheOverlap() throws JOSEException {
+        SigningKeyRing signingKeyRing = signingKeyRing();
+        SigningKey previous = signingKeyRing.getActiveKey();
+        SignedJWT signedJWT = sign(previous);
+
+        signingKeyRing.rotate(START);
+
+        assertThat(signingKeyRing.getActiveKey().getKeyId()).isNotEqualTo(previous.getKeyId());
+        assertThat(signingKeyRing.getKey(previous.getKeyId())).hasValueSatisfying(key -> {
+            assertThat(key.getRetiredAt()).isEqualTo(START);
+            assertThat(verify(signedJWT, key)).isTrue();
+        });
+    }
+
+    @Test
+    void dropsRetiredKeysAfterTheOverlap() {
+        SigningKeyRing signingKeyRing = signingKeyRing();
+        String first = signingKeyRing.getActiveKey().getKeyId();
+
+        signingKeyRing.rotate(START);
+        signingKeyRing.rotate(START.plusSeconds(120));
+
+        assertThat(signingKeyRing.getKeys()).hasSize(3);
+        assertThat(signingKeyRing.getKey(first)).isPresent();
+
+        signingKeyRing.rotate(START.plusSeconds(121));
+
+        assertThat(signingKeyRing.getKeys()).hasSize(3);
+        assertThat(signingKeyRing.getKey(first)).isEmpty();
+    }
+
+    @Test
+    void overlapIsNeverShorterThanTheTokenExpiration() {
+        jwtConfiguration.getKeyRing().setOverlap(10);
+        SigningKeyRing signingKeyRing = signingKeyRing();
+        String first = signingKeyRing.getActiveKey().getKeyId();
+
+        signingKeyRing.rotate(START);
+        signingKeyRing.rotate(START.plusSeconds(60));
+
+        assertThat(signingKeyRing.getKey(first)).isPresent();
+    }
+
+    @Test
+    void refusesGeneratedKeysUnlessEnabled() {
+        jwtConfiguration.getKeyRing().setGenerateKeys(false);
+
+        assertThatThrownBy(() -> new SigningKeyRing(jwtConfiguration).init()).isInstanceOf(IllegalStateException.class);
+    }
+
+    private SigningKeyRing signingKeyRing() {
+        SigningKeyRing signingKeyRing = new SigningKeyRing(jwtConfiguration);
+        signingKeyRing.init();
+        return signingKeyRing;
+    }
+
+    private static SignedJWT sign(SigningKey signingKey) throws JOSEException {
+        SignedJWT signedJWT = new SignedJWT(signingKey.getHeader(), new JWTClaimsSet.Builder().subject("alice").build());
+        signedJWT.sign(signingKey.getSigner());
+        return signedJWT;
+    }
+
+    private static boolean verify(SignedJWT signedJWT, SigningKey signingKey) {
+        try {
+            return signedJWT.verify(SignatureAlgorithm.createVerifier(signingKey.getPublicJwk()));
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.course.token.security.filter;
+
+import br.com.course.core.property.JWTConfiguration;
+import br.com.course.token.converter.DecryptedClaimsCache;
+import br.com.course.token.converter.IdentityConverter;
+import br.com.course.token.converter.JwkSetCache;
+import br.com.course.token.converter.TokenConverter;
+import br.com.course.token.creator.TokenCreator;
+import br.com.course.token.key.SigningKey;
+import br.com.course.token.key.SigningKeyRing;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The gateway identity and the encrypted token of the same request name different users, so the authenticated
+ * principal tells which header the filter used.
+ */
+class JwtTokenAuthorizationFilterTest {
+    private static final String SECRET = "authorization-filter-test-secret-0123456789";
+    private JWTConfiguration jwtConfiguration;
+    private SigningKeyRing signingKeyRing;
+    private TokenCreator tokenCreator;
+    private TokenConverter tokenConverter;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        jwtConfiguration = new JWTConfiguration();
+        jwtConfiguration.getIdentity().setSecret(SECRET);
+        jwtConfiguration.getKeyRing().setAlgorithm("ES256");
+        jwtConfiguration.getKeyRing().setGenerateKeys(true);
+        jwtConfiguration.getKeyRing().setRotationInterval(0);
+
+        signingKeyRing = new SigningKeyRing(jwtConfiguration);
+        signingKeyRing.init();
+        tokenCreator = new TokenCreator(jwtConfiguration, signingKeyRing);
+
+        JwkSetCache jwkSetCache = new JwkSetCache(jwtConfiguration) {
+            @Override
+            protected JWKSet fetchJwkSet() {
+                return new JWKSet(signingKeyRing.getKeys().stream().map(SigningKey::getPublicJwk).collect(toList()));
+            }
+        };
+        tokenConverter = new TokenConverter(jwtConfiguration, jwkSetCache, new DecryptedClaimsCache(jwtConfiguration, new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void ignoresTheIdentityHeaderWhenTheGatewayIsNotTrusted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Identity", identity("mallory", "ROLE_ADMIN", SECRET));
+
+        Authentication authentication = filter(request);
+
+        assertThat(authentication).isNull();
+    }
+
+    @Test
+    void usesTheTokenWhenTheGatewayIsNotTrusted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Identity", identity("mallory", "ROLE_ADMIN", SECRET));
+        request.addHeader("Authorization", "Bearer " + token("alice", "ROLE_USER"));
+
+        Authentication authentication = filter(request);
+
+        assertThat(authentication.getName()).isEqualTo("alice");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void usesTheIdentityHeaderWhenTheGatewayIsTrusted() throws Exception {
+        jwtConfiguration.getIdentity().setTrusted(true);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Identity", identity("bob", "ROLE_ADMIN", SECRET));
+        request.addHeader("Authorization", "Bearer " + token("alice", "ROLE_USER"));
+
+        Authentication authentication = filter(request);
+
+        assertThat(authentication.getName()).isEqualTo("bob");
+    }
+
+    @Test
+    void leavesAForgedIdentityUnauthenticated() throws Exception {
+        jwtConfiguration.getIdentity().setTrusted(true);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Identity", identity("mallory", "ROLE_ADMIN", "forged-identity-secret-0123456789"));
+
+        Authentication authentication = filter(request);
+
+        assertThat(authentication).isNull();
+    }
+
+    private Authentication filter(MockHttpServletRequest request) throws Exception {
+        JwtTokenAuthorizationFilter filter = new JwtTokenAuthorizationFilter(jwtConfiguration, tokenConverter, new IdentityConverter(jwtConfiguration));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static String identity(String subject, String authority, String secret) throws Exception {
+        JWTConfiguration gatewayConfiguration = new JWTConfiguration();
+        gatewayConfiguration.getIdentity().setSecret(secret);
+        return new IdentityConverter(gatewayConfiguration).createIdentity(claims(subject, authority));
+    }
+
+    private String token(String subject, String authority) throws JOSEException {
+        SigningKey signingKey = signingKeyRing.getActiveKey();
+        SignedJWT signedJWT = new SignedJWT(signingKey.getHeader(), claims(subject, authority));
+        signedJWT.sign(signingKey.getSigner());
+        return tokenCreator.encryptToken(signedJWT);
+    }
+
+    private static JWTClaimsSet claims(String subject, String authority) {
+        return new JWTClaimsSet.Builder()
+                .subject(subject)
+                .claim("authorities", List.of(authority))
+                .expirationTime(new Date(System.currentTimeMillis() + 60_000))
+                .build();
+    }
+}